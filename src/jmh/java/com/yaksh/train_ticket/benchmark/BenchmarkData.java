@@ -0,0 +1,113 @@
+package com.yaksh.train_ticket.benchmark;
+
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.StationSchedule;
+import com.yaksh.train_ticket.model.Ticket;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.repository.TrainSeatInventoryRepository;
+import com.yaksh.train_ticket.service.TrainServiceImpl;
+import com.yaksh.train_ticket.util.InventoryLocks;
+import com.yaksh.train_ticket.util.TrainServiceUtilImpl;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic trains, seat layouts and tickets for the benchmarks. Nothing here touches MongoDB.
+ */
+final class BenchmarkData {
+    static final LocalDate FIRST_DATE = LocalDate.parse("2025-03-16");
+    static final int SEATS_PER_ROW = 8;
+    static final int STOPS_PER_DAY = 20;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds a seat layout of the given size.
+     *
+     * @param seatCount Number of seats, a multiple of {@link #SEATS_PER_ROW}.
+     * @param occupancy "empty", "half" (first half booked) or "fragmented" (every other seat booked).
+     */
+    static SeatInventory seats(int seatCount, String occupancy) {
+        SeatInventory seats = new SeatInventory(seatCount / SEATS_PER_ROW, SEATS_PER_ROW);
+        for (int seat = 0; seat < seatCount; seat++) {
+            boolean booked = switch (occupancy) {
+                case "empty" -> false;
+                case "half" -> seat < seatCount / 2;
+                case "fragmented" -> seat % 2 == 0;
+                default -> throw new IllegalArgumentException("Unknown occupancy: " + occupancy);
+            };
+            if (booked) {
+                seats.book(seats.rowOf(seat), seats.colOf(seat));
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * Builds a train running every day of the calendar through {@link #STOPS_PER_DAY} stations,
+     * with the given seats on its first day.
+     */
+    static Train train(int calendarDays, SeatInventory firstDaySeats) {
+        Map<String, List<StationSchedule>> schedules = new HashMap<>();
+        for (int day = 0; day < calendarDays; day++) {
+            LocalDate date = FIRST_DATE.plusDays(day);
+            List<StationSchedule> stops = new ArrayList<>(STOPS_PER_DAY);
+            for (int stop = 0; stop < STOPS_PER_DAY; stop++) {
+                stops.add(new StationSchedule(station(stop), date.atStartOfDay().plusMinutes(30L * stop)));
+            }
+            schedules.put(date.toString(), stops);
+        }
+        Map<String, SeatInventory> seats = new HashMap<>();
+        seats.put(FIRST_DATE.toString(), firstDaySeats);
+        return Train.builder()
+                .prn("123456")
+                .trainName("Shatabdi")
+                .schedules(schedules)
+                .seats(seats)
+                .build();
+    }
+
+    static Ticket ticket(int seatCount) {
+        List<List<Integer>> bookedSeats = new ArrayList<>(seatCount);
+        for (int seat = 0; seat < seatCount; seat++) {
+            bookedSeats.add(List.of(seat / SEATS_PER_ROW, seat % SEATS_PER_ROW));
+        }
+        return Ticket.builder()
+                .ticketId("ticket-1")
+                .userId("user-1")
+                .trainId("123456")
+                .dateOfTravel(FIRST_DATE)
+                .source(station(0))
+                .destination(station(STOPS_PER_DAY - 1))
+                .arrivalTimeAtSource(FIRST_DATE.atStartOfDay())
+                .reachingTimeAtDestination(FIRST_DATE.atStartOfDay().plusMinutes(30L * (STOPS_PER_DAY - 1)))
+                .bookedSeatsIndex(bookedSeats)
+                .build();
+    }
+
+    static String station(int stop) {
+        return "station-" + stop;
+    }
+
+    /**
+     * A TrainServiceImpl whose seat inventory repository acknowledges every seat update without a database.
+     * The seats of the benchmarked date must already be on the train.
+     */
+    static TrainServiceImpl trainService() {
+        TrainSeatInventoryRepository seatRepository = (TrainSeatInventoryRepository) Proxy.newProxyInstance(
+                BenchmarkData.class.getClassLoader(),
+                new Class<?>[]{TrainSeatInventoryRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "reserveSeats", "releaseSeats" -> true;
+                    case "updateLargestFreeBlock" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return new TrainServiceImpl(null, new TrainServiceUtilImpl(), null, null, seatRepository, null, null, new InventoryLocks(16));
+    }
+}
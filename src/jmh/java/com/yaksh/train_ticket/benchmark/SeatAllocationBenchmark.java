@@ -0,0 +1,55 @@
+package com.yaksh.train_ticket.benchmark;
+
+import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.service.TrainServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat search and seat booking/freeing on a single coach layout.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SeatAllocationBenchmark {
+    @Param({"72", "1024", "8192"})
+    private int seatCount;
+
+    @Param({"empty", "half", "fragmented"})
+    private String occupancy;
+
+    @Param({"4"})
+    private int seatsRequested;
+
+    private TrainServiceImpl trainService;
+    private Train train;
+    private SeatInventory seats;
+    private List<List<Integer>> seatsToBook;
+
+    @Setup
+    public void setup() {
+        trainService = BenchmarkData.trainService();
+        seats = BenchmarkData.seats(seatCount, occupancy);
+        train = BenchmarkData.train(1, seats);
+        seatsToBook = (List<List<Integer>>) trainService.areSeatsAvailable(train, seatsRequested, BenchmarkData.FIRST_DATE).getData();
+    }
+
+    @Benchmark
+    public ResponseDataDTO areSeatsAvailable() {
+        return trainService.areSeatsAvailable(train, seatsRequested, BenchmarkData.FIRST_DATE);
+    }
+
+    /**
+     * Books the seats found in setup and frees them again, leaving the layout unchanged for the next invocation.
+     */
+    @Benchmark
+    public int bookAndFreeSeats() {
+        trainService.bookSeats(seatsToBook, seats);
+        trainService.freeTheBookedSeats(seatsToBook, train, BenchmarkData.FIRST_DATE);
+        return seats.freeCount();
+    }
+}
@@ -0,0 +1,52 @@
+package com.yaksh.train_ticket.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.yaksh.train_ticket.model.Ticket;
+import com.yaksh.train_ticket.model.Train;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response payloads, with the same date/time modules the application registers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    @Param({"30", "120", "365"})
+    private int calendarDays;
+
+    @Param({"72", "1024"})
+    private int seatCount;
+
+    private ObjectMapper objectMapper;
+    private Train train;
+    private Ticket ticket;
+    private String trainJson;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        train = BenchmarkData.train(calendarDays, BenchmarkData.seats(seatCount, "half"));
+        ticket = BenchmarkData.ticket(4);
+        trainJson = objectMapper.writeValueAsString(train);
+    }
+
+    @Benchmark
+    public String serializeTrain() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(train);
+    }
+
+    @Benchmark
+    public Train deserializeTrain() throws JsonProcessingException {
+        return objectMapper.readValue(trainJson, Train.class);
+    }
+
+    @Benchmark
+    public String serializeTicket() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(ticket);
+    }
+}
@@ -0,0 +1,52 @@
+package com.yaksh.train_ticket.benchmark;
+
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.util.TrainServiceUtilImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per train check of the search path: does the train stop at the source before the destination on the date.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TrainSearchBenchmark {
+    @Param({"30", "120", "365"})
+    private int calendarDays;
+
+    private final TrainServiceUtilImpl trainServiceUtil = new TrainServiceUtilImpl();
+    private Train train;
+    private LocalDate travelDate;
+    private LocalDate dateNotServed;
+    private String source;
+    private String destination;
+
+    @Setup
+    public void setup() {
+        train = BenchmarkData.train(calendarDays, new SeatInventory(9, BenchmarkData.SEATS_PER_ROW));
+        train.compileSchedules();
+        travelDate = BenchmarkData.FIRST_DATE.plusDays(calendarDays / 2);
+        dateNotServed = BenchmarkData.FIRST_DATE.plusDays(calendarDays);
+        source = BenchmarkData.station(2);
+        destination = BenchmarkData.station(BenchmarkData.STOPS_PER_DAY - 3);
+    }
+
+    @Benchmark
+    public boolean validTrain() {
+        return trainServiceUtil.validTrain(source, destination, travelDate, train);
+    }
+
+    @Benchmark
+    public boolean validTrainWrongDirection() {
+        return trainServiceUtil.validTrain(destination, source, travelDate, train);
+    }
+
+    @Benchmark
+    public boolean validTrainDateNotServed() {
+        return trainServiceUtil.validTrain(source, destination, dateNotServed, train);
+    }
+}
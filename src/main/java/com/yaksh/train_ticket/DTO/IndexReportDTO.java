@@ -0,0 +1,61 @@
+package com.yaksh.train_ticket.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * State of the MongoDB indexes: which required indexes are missing, how often each existing index was used
+ * since the server started, and the winning plan of every registered repository query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IndexReportDTO {
+    private List<RequiredIndex> requiredIndexes;
+    private List<ExistingIndex> existingIndexes;
+    private List<QueryPlan> queryPlans;
+    private long missingIndexes;
+    private long collectionScans;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RequiredIndex {
+        private String collection;
+        private String keys;
+        private boolean unique;
+        private String usedBy;
+        private boolean present;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExistingIndex {
+        private String collection;
+        private String name;
+        private String keys;
+        private long accesses; // Since the server started or the index was created
+        private boolean required;
+        private boolean unused; // Neither required nor used yet
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QueryPlan {
+        private String query;
+        private String collection;
+        private List<String> stages; // Stages of the winning plan, outermost first
+        private boolean collectionScan;
+    }
+}
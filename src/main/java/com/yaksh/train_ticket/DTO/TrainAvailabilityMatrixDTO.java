@@ -0,0 +1,38 @@
+package com.yaksh.train_ticket.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Free seats of every train between two stations over a window of dates.
+ * Each row holds one value per entry of dates, in the same order: the free seats of the train on that date,
+ * or null when the train does not run between the stations that day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrainAvailabilityMatrixDTO {
+    private String source;
+    private String destination;
+    private List<LocalDate> dates;
+    private List<Row> trains;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private String prn;
+        private String trainName;
+        private List<Integer> freeSeats;
+    }
+}
@@ -0,0 +1,37 @@
+package com.yaksh.train_ticket.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Progress of a streaming train import. One report is emitted per imported chunk, carrying the
+ * failures of that chunk, and a final report with done set carries the totals.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrainImportReportDTO {
+    private boolean done;
+    private long processed; // Lines read so far, blank lines excluded
+    private long inserted;
+    private long failed;
+    private List<Failure> failures;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+        private long line;
+        private String prn;
+        private String reason;
+    }
+}
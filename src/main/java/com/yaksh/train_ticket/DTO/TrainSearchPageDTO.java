@@ -0,0 +1,26 @@
+package com.yaksh.train_ticket.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a train search, ordered by departure from the source station. totalTrains counts the matches
+ * of every page. The next page is requested by sending nextCursor back as the cursor; it is absent on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrainSearchPageDTO {
+    private int totalTrains;
+    private List<TrainSummaryDTO> trainsData;
+    private String nextCursor;
+}
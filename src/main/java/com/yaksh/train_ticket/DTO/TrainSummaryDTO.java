@@ -0,0 +1,38 @@
+package com.yaksh.train_ticket.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.yaksh.train_ticket.model.SeatAvailability;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One search result: a train as seen between the searched stations on the searched date.
+ * The full train is served by /v1/train/trainDetails. Names are snake_case like the Train documents
+ * search used to return.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrainSummaryDTO {
+    private String prn;
+    private String trainName;
+    private LocalDate travelDate;
+    private String source;
+    private String destination;
+    private LocalDateTime departureTime; // At the source station
+    private LocalDateTime arrivalTime; // At the destination station
+    private Long durationMinutes;
+    private SeatAvailability availability;
+}
@@ -0,0 +1,32 @@
+package com.yaksh.train_ticket.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+/**
+ * MongoDB mapping configuration.
+ */
+@Configuration
+public class MongoConfig {
+
+    /**
+     * Registers the custom converters on top of the store defaults.
+     */
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(SeatInventoryConverters.converters());
+    }
+
+    /**
+     * Multi-document transactions for the booking commit; MongoDB only supports them on a replica set or sharded cluster.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "booking.commit.transactions", havingValue = "true")
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory mongoDatabaseFactory) {
+        return new MongoTransactionManager(mongoDatabaseFactory);
+    }
+}
@@ -0,0 +1,76 @@
+package com.yaksh.train_ticket.config;
+
+import com.yaksh.train_ticket.model.SeatInventory;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MongoDB converters for {@link SeatInventory}.
+ * An inventory is stored as { rows, cols, words } where words is the int64 array of packed seat bits,
+ * e.g. a 1,000 seat layout becomes 16 longs instead of 1,000 nested array elements.
+ * Words are kept as int64 values (rather than one binary blob) so single seats stay addressable with $bit.
+ */
+public final class SeatInventoryConverters {
+
+    public static final String ROWS = "rows";
+    public static final String COLS = "cols";
+    public static final String WORDS = "words";
+
+    private SeatInventoryConverters() {
+    }
+
+    public static List<Converter<?, ?>> converters() {
+        return List.of(new SeatInventoryWriteConverter(), new SeatInventoryReadConverter(), new LegacySeatMatrixReadConverter());
+    }
+
+    @WritingConverter
+    static class SeatInventoryWriteConverter implements Converter<SeatInventory, Document> {
+        @Override
+        public Document convert(SeatInventory source) {
+            long[] words = source.getWords();
+            List<Long> packedWords = new ArrayList<>(words.length);
+            for (long word : words) {
+                packedWords.add(word);
+            }
+            return new Document(ROWS, source.getRows())
+                    .append(COLS, source.getCols())
+                    .append(WORDS, packedWords);
+        }
+    }
+
+    @ReadingConverter
+    static class SeatInventoryReadConverter implements Converter<Document, SeatInventory> {
+        @Override
+        public SeatInventory convert(Document source) {
+            List<?> packedWords = source.getList(WORDS, Object.class);
+            long[] words = new long[packedWords.size()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = ((Number) packedWords.get(i)).longValue();
+            }
+            return new SeatInventory(source.getInteger(ROWS), source.getInteger(COLS), words);
+        }
+    }
+
+    /**
+     * Reads seat layouts written before the bitset encoding, stored as nested arrays of 0/1 values.
+     */
+    @ReadingConverter
+    static class LegacySeatMatrixReadConverter implements Converter<List<?>, SeatInventory> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public SeatInventory convert(List<?> source) {
+            List<List<Integer>> matrix = new ArrayList<>(source.size());
+            for (Object row : source) {
+                List<Integer> seatRow = new ArrayList<>();
+                ((List<?>) row).forEach(seat -> seatRow.add(((Number) seat).intValue()));
+                matrix.add(seatRow);
+            }
+            return SeatInventory.fromMatrix(matrix);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.yaksh.train_ticket.controller;
+
+import com.yaksh.train_ticket.DTO.IndexReportDTO;
+import com.yaksh.train_ticket.service.DatabaseIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admin endpoint for the MongoDB indexes, served under /actuator/indexes once "indexes" is added to
+ * management.endpoints.web.exposure.include.
+ */
+@Component
+@Endpoint(id = "indexes")
+@RequiredArgsConstructor
+public class IndexReportEndpoint {
+    private final DatabaseIndexService databaseIndexService;
+
+    /**
+     * GET: missing and unused indexes, and the plan of every registered repository query with collection scans flagged.
+     */
+    @ReadOperation
+    public IndexReportDTO report() {
+        return databaseIndexService.report();
+    }
+
+    /**
+     * POST: creates the missing registered indexes, then reports.
+     */
+    @WriteOperation
+    public IndexReportDTO ensureIndexes() {
+        databaseIndexService.ensureIndexes();
+        return databaseIndexService.report();
+    }
+}
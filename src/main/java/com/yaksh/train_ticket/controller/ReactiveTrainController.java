@@ -0,0 +1,40 @@
+package com.yaksh.train_ticket.controller;
+
+import com.yaksh.train_ticket.DTO.TrainSummaryDTO;
+import com.yaksh.train_ticket.service.ReactiveBookingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * WebFlux variant of the train search, active when the application runs with the "reactive" profile.
+ */
+@RestController
+@RequestMapping("/v1/train")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTrainController {
+
+    private final ReactiveBookingService reactiveBookingService;
+
+    /**
+     * Searches for trains based on source, destination, and travel date.
+     * Matching trains are written as newline delimited JSON as they are read, instead of one collected response.
+     *
+     * @param source      The source station of the train.
+     * @param destination The destination station of the train.
+     * @param travelDate  The date of travel.
+     * @return Summaries of the matching trains, one JSON document per line.
+     */
+    @GetMapping(value = "/searchTrains", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TrainSummaryDTO> searchTrains(@RequestParam String source, @RequestParam String destination, @RequestParam LocalDate travelDate) {
+        return reactiveBookingService.searchTrains(source, destination, travelDate);
+    }
+}
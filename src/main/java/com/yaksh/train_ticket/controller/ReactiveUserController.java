@@ -0,0 +1,84 @@
+package com.yaksh.train_ticket.controller;
+
+import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+import com.yaksh.train_ticket.service.ReactiveBookingService;
+import com.yaksh.train_ticket.service.SessionTokenService;
+import com.yaksh.train_ticket.service.UserBookingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+
+/**
+ * WebFlux variant of the user endpoints, active when the application runs with the "reactive" profile.
+ * Booking is non-blocking end to end; login and signup keep the blocking service (BCrypt is CPU bound anyway)
+ * and run off the event loop.
+ */
+@RestController
+@RequestMapping("/v1/user")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+
+    private final ReactiveBookingService reactiveBookingService;
+    private final UserBookingService userBookingService;
+    private final SessionTokenService sessionTokenService;
+
+    /**
+     * Logs in the user and returns a session token to send as "Authorization: Bearer &lt;token&gt;".
+     *
+     * @param userEmail The username of the user trying to log in.
+     * @param password The password of the user trying to log in.
+     * @return ResponseEntity containing the session token and user information.
+     */
+    @PostMapping("/loginUser")
+    public Mono<ResponseEntity<ResponseDataDTO>> loginUser(@RequestParam String userEmail, @RequestParam String password) {
+        return Mono.fromCallable(() -> userBookingService.loginUser(userEmail, password))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Signs up a new user with the provided username and password.
+     *
+     * @param userEmail The username of the user to be registered.
+     * @param password The password for the new user.
+     * @return ResponseEntity containing the signup status.
+     */
+    @PostMapping("/signupUser")
+    public Mono<ResponseEntity<ResponseDataDTO>> signupUser(@RequestParam String userEmail, @RequestParam String password) {
+        return Mono.fromCallable(() -> userBookingService.signupUser(userEmail, password))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Books a ticket for the user with the provided travel details.
+     *
+     * @param authorization          The session token issued at login.
+     * @param trainPrn               The train PRN (Passenger Reservation Number) to book the ticket for.
+     * @param source                 The source station of the journey.
+     * @param destination            The destination station of the journey.
+     * @param dateOfTravel           The date of travel for the ticket.
+     * @param numberOfSeatsToBeBooked The number of seats to be booked.
+     * @return ResponseEntity containing the booking status and ticket details.
+     */
+    @PostMapping("/bookTicket")
+    public Mono<ResponseEntity<ResponseDataDTO>> bookTicket(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam String trainPrn,
+            @RequestParam String source,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateOfTravel,
+            @RequestParam int numberOfSeatsToBeBooked) {
+        return Mono.fromSupplier(() -> sessionTokenService.resolveUserId(authorization))
+                .flatMap(userId -> reactiveBookingService.bookTicket(userId, trainPrn, source, destination, dateOfTravel, numberOfSeatsToBeBooked))
+                .map(ticket -> ResponseEntity.ok(new ResponseDataDTO(true, "Ticket Booked with ID: " + ticket.getTicketId(), ticket)));
+    }
+}
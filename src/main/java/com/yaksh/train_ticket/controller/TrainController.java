@@ -1,14 +1,28 @@
 package com.yaksh.train_ticket.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+import com.yaksh.train_ticket.DTO.TrainImportReportDTO;
+import com.yaksh.train_ticket.DTO.TrainSummaryDTO;
 import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.service.ConnectionSearchService;
+import com.yaksh.train_ticket.service.TrainImportService;
+import com.yaksh.train_ticket.service.TrainRangeSearchService;
 import com.yaksh.train_ticket.service.TrainService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -18,25 +32,105 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/v1/train")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Slf4j
 public class TrainController {
+    private static final String NDJSON = "application/x-ndjson";
 
     // Service layer dependency for handling train-related business logic
     private final TrainService trainService;
+    private final TrainImportService trainImportService;
+    private final ConnectionSearchService connectionSearchService;
+    private final TrainRangeSearchService trainRangeSearchService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Searches for trains based on source, destination, and travel date.
+     * Searches for trains based on source, destination, and travel date, one page at a time ordered by departure.
      *
      * @param source      The source station of the train.
      * @param destination The destination station of the train.
      * @param travelDate  The date of travel.
-     * @return A ResponseEntity containing a ResponseDataDTO with the search results.
+     * @param cursor      The nextCursor of the previous page, omitted for the first page.
+     * @param pageSize    Optional number of trains per page.
+     * @return A ResponseEntity containing a ResponseDataDTO with the page of trains and the cursor of the next page.
      */
     @GetMapping("/searchTrains")
-    public ResponseEntity<ResponseDataDTO> searchTrains(@RequestParam String source, @RequestParam String destination, @RequestParam LocalDate travelDate) {
+    public ResponseEntity<ResponseDataDTO> searchTrains(@RequestParam String source, @RequestParam String destination, @RequestParam LocalDate travelDate,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer pageSize) {
         // Delegates the search logic to the trainService and returns the response
-        return ResponseEntity.ok(trainService.searchTrains(source, destination, travelDate));
+        return ResponseEntity.ok(trainService.searchTrains(source, destination, travelDate, cursor, pageSize));
+    }
+
+    /**
+     * Searches for trains with stream=true: every match is written as soon as it is read, in no particular order,
+     * in the same response envelope as the paged search with all trains in one array and totalTrains after it.
+     *
+     * @param source      The source station of the train.
+     * @param destination The destination station of the train.
+     * @param travelDate  The date of travel.
+     * @param response    The response the trains are streamed to.
+     * @throws IOException If the response cannot be written.
+     */
+    @GetMapping(value = "/searchTrains", params = "stream=true", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void streamTrains(@RequestParam String source, @RequestParam String destination, @RequestParam LocalDate travelDate,
+                             HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeBooleanField("status", true);
+            generator.writeStringField("message", "Trains fetched");
+            generator.writeObjectFieldStart("data");
+            generator.writeArrayFieldStart("trainsData");
+            int totalTrains = trainService.streamTrains(source, destination, travelDate, train -> writeTrain(generator, train));
+            generator.writeEndArray();
+            generator.writeNumberField("totalTrains", totalTrains);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Searches for trains on every date of a window and returns their free seats per date.
+     *
+     * @param source      The source station of the train.
+     * @param destination The destination station of the train.
+     * @param fromDate    The first date of travel.
+     * @param toDate      The last date of travel, inclusive.
+     * @return A ResponseEntity containing a ResponseDataDTO with one row of free seats per train.
+     */
+    @GetMapping("/searchTrainsRange")
+    public ResponseEntity<ResponseDataDTO> searchTrainsRange(@RequestParam String source, @RequestParam String destination,
+                                                             @RequestParam LocalDate fromDate, @RequestParam LocalDate toDate) {
+        return ResponseEntity.ok(trainRangeSearchService.searchTrainsRange(source, destination, fromDate, toDate));
+    }
+
+    /**
+     * Searches for journeys from source to destination, direct or with one change of train.
+     *
+     * @param source      The source station.
+     * @param destination The destination station.
+     * @param travelDate  The date of travel of the first train.
+     * @param maxResults  Optional maximum number of journeys.
+     * @return A ResponseEntity containing a ResponseDataDTO with the journeys, earliest arrival first.
+     */
+    @GetMapping("/searchConnections")
+    public ResponseEntity<ResponseDataDTO> searchConnections(@RequestParam String source, @RequestParam String destination, @RequestParam LocalDate travelDate,
+                                                             @RequestParam(required = false) Integer maxResults) {
+        return ResponseEntity.ok(connectionSearchService.searchConnections(source, destination, travelDate, maxResults));
+    }
+
+    /**
+     * Fetches the full details of one train, for a search result the client wants to open.
+     *
+     * @param trainPrn   The PRN of the train.
+     * @param travelDate The date of travel; when given, the seats and free seat counters of that date are included.
+     * @return A ResponseEntity containing a ResponseDataDTO with the train.
+     */
+    @GetMapping("/trainDetails")
+    public ResponseEntity<ResponseDataDTO> trainDetails(@RequestParam String trainPrn, @RequestParam(required = false) LocalDate travelDate) {
+        return ResponseEntity.ok(trainService.getTrainDetails(trainPrn, travelDate));
     }
 
     /**
@@ -64,6 +158,23 @@ public class TrainController {
         return ResponseEntity.ok(trainService.addMultipleTrains(newTrains));
     }
 
+    /**
+     * Imports trains from a newline delimited JSON body, one train per line, reading it incrementally.
+     * The response is also newline delimited JSON: one progress report per imported chunk, listing the
+     * lines and PRNs that failed, then a final report with the totals.
+     *
+     * @param ndjson   The request body.
+     * @param response The response the reports are streamed to.
+     * @throws IOException If the body cannot be read or the response cannot be written.
+     */
+    @PostMapping(value = "/importTrains", consumes = NDJSON, produces = NDJSON)
+    public void importTrains(InputStream ndjson, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        OutputStream out = response.getOutputStream();
+        TrainImportReportDTO summary = trainImportService.importTrains(ndjson, report -> writeLine(out, report));
+        writeLine(out, summary);
+    }
+
     /**
      * Updates the details of an existing train.
      *
@@ -76,4 +187,21 @@ public class TrainController {
         return ResponseEntity.ok(trainService.updateTrain(updatedTrain));
     }
 
-}
\ No newline at end of file
+    private void writeTrain(JsonGenerator generator, TrainSummaryDTO train) {
+        try {
+            generator.writeObject(train);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(OutputStream out, TrainImportReportDTO report) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(report));
+            out.write('\n');
+            out.flush(); // Send the progress to the client right away
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.yaksh.train_ticket.controller;
 
 import com.yaksh.train_ticket.DTO.ResponseDataDTO;
-import com.yaksh.train_ticket.model.User;
+import com.yaksh.train_ticket.service.IdempotencyService;
+import com.yaksh.train_ticket.service.SessionTokenService;
 import com.yaksh.train_ticket.service.UserBookingService;
 import com.yaksh.train_ticket.util.UserServiceUtil;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -23,29 +26,32 @@ import java.util.UUID;
  */
 @RestController
 @RequestMapping("/v1/user")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Slf4j
 public class UserController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
     @Autowired
     private UserBookingService service;
 
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     /**
      * Logs in the user by verifying the provided username and password.
-     * If login is successful, sets the logged-in user in the service layer.
+     * If login is successful, the response carries a session token to send as
+     * "Authorization: Bearer &lt;token&gt;" on the ticket endpoints.
      *
      * @param userEmail The username of the user trying to log in.
      * @param password The password of the user trying to log in.
-     * @return ResponseEntity containing the login status and user information.
+     * @return ResponseEntity containing the session token and user information.
      */
     @PostMapping("/loginUser")
     public ResponseEntity<ResponseDataDTO> loginUser(@RequestParam String userEmail, @RequestParam String password) {
-        ResponseDataDTO responseDataDTO = service.loginUser(userEmail, password);
-
-        // If login is successful, set the logged-in user in the service layer
-        if (responseDataDTO.isStatus()) {
-            service.setLoggedInUser((User) responseDataDTO.getData());
-        }
-        return ResponseEntity.ok(responseDataDTO);
+        return ResponseEntity.ok(service.loginUser(userEmail, password));
     }
 
     /**
@@ -62,7 +68,10 @@ public class UserController {
 
     /**
      * Books a ticket for the user with the provided travel details.
+     * A retry sent with the same Idempotency-Key is answered with the first booking instead of booking again.
      *
+     * @param authorization          The session token issued at login.
+     * @param idempotencyKey         Optional client generated key identifying this booking across retries.
      * @param trainPrn               The train PRN (Passenger Reservation Number) to book the ticket for.
      * @param source                 The source station of the journey.
      * @param destination            The destination station of the journey.
@@ -72,58 +81,96 @@ public class UserController {
      */
     @PostMapping("/bookTicket")
     public ResponseEntity<ResponseDataDTO> bookTicket(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @RequestParam String trainPrn,
             @RequestParam String source,
             @RequestParam String destination,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateOfTravel,
             @RequestParam int numberOfSeatsToBeBooked) {
-        return ResponseEntity.ok(
-                service.bookTicket(trainPrn, source, destination, dateOfTravel, numberOfSeatsToBeBooked));
+        String userId = sessionTokenService.resolveUserId(authorization);
+        String requestFingerprint = String.join("|", trainPrn, source, destination, dateOfTravel.toString(), String.valueOf(numberOfSeatsToBeBooked));
+        return ResponseEntity.ok(idempotencyService.execute(userId, idempotencyKey, requestFingerprint,
+                () -> service.bookTicket(userId, trainPrn, source, destination, dateOfTravel, numberOfSeatsToBeBooked)));
     }
 
     /**
-     * Fetches all the tickets booked by the logged-in user.
+     * Fetches the tickets booked by the logged-in user, one page at a time, ordered by date of travel.
      *
-     * @return ResponseEntity containing the list of all tickets booked by the user.
+     * @param authorization The session token issued at login.
+     * @param fromDate Optional earliest date of travel.
+     * @param toDate Optional latest date of travel.
+     * @param cursor The nextCursor of the previous page, omitted for the first page.
+     * @param pageSize Optional number of tickets per page.
+     * @return ResponseEntity containing the page of tickets and the cursor of the next page.
      */
     @GetMapping("/fetchTickets")
-    public ResponseEntity<ResponseDataDTO> fetchAllTickets() {
-        return ResponseEntity.ok(service.fetchAllTickets());
+    public ResponseEntity<ResponseDataDTO> fetchTickets(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer pageSize) {
+        return ResponseEntity.ok(service.fetchTickets(sessionTokenService.resolveUserId(authorization), fromDate, toDate, cursor, pageSize));
+    }
+
+    /**
+     * Counts the tickets booked by the logged-in user.
+     *
+     * @param authorization The session token issued at login.
+     * @param fromDate Optional earliest date of travel.
+     * @param toDate Optional latest date of travel.
+     * @return ResponseEntity containing the number of tickets.
+     */
+    @GetMapping("/countTickets")
+    public ResponseEntity<ResponseDataDTO> countTickets(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        return ResponseEntity.ok(service.countTickets(sessionTokenService.resolveUserId(authorization), fromDate, toDate));
     }
 
     /**
      * Cancels a ticket with the provided ticket ID.
      *
+     * @param authorization The session token issued at login.
      * @param ticketId The ID of the ticket to be canceled.
      * @return ResponseEntity containing the cancellation status.
      */
     @PostMapping("/cancelTicket")
-    public ResponseEntity<ResponseDataDTO> cancelTicket(@RequestParam String ticketId) {
-        return ResponseEntity.ok(service.cancelTicket(ticketId));
+    public ResponseEntity<ResponseDataDTO> cancelTicket(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam String ticketId) {
+        return ResponseEntity.ok(service.cancelTicket(sessionTokenService.resolveUserId(authorization), ticketId));
     }
 
     /**
      * Fetches the details of a ticket by its ID.
      *
+     * @param authorization The session token issued at login.
      * @param ticketId The ID of the ticket to fetch details for.
      * @return ResponseEntity containing the ticket details.
      */
     @GetMapping("/fetchTicketById")
-    public ResponseEntity<ResponseDataDTO> fetchTicketById(@RequestParam String ticketId) {
-        return ResponseEntity.ok(service.fetchTicketById(ticketId));
+    public ResponseEntity<ResponseDataDTO> fetchTicketById(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam String ticketId) {
+        return ResponseEntity.ok(service.fetchTicketById(sessionTokenService.resolveUserId(authorization), ticketId));
     }
 
     /**
      * Reschedules a ticket to a new date of travel.
      *
+     * @param authorization        The session token issued at login.
      * @param ticketId             The ID of the ticket to be rescheduled.
      * @param updatedDateOfTravel  The new date of travel for the ticket.
      * @return ResponseEntity containing the rescheduling status.
      */
     @PostMapping("/rescheduleTicket")
     public ResponseEntity<ResponseDataDTO> rescheduleTicket(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
             @RequestParam String ticketId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate updatedDateOfTravel) {
-        return ResponseEntity.ok(service.rescheduleTicket(ticketId, updatedDateOfTravel));
+        return ResponseEntity.ok(service.rescheduleTicket(sessionTokenService.resolveUserId(authorization), ticketId, updatedDateOfTravel));
     }
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ public enum ResponseStatus {
     USER_ALREADY_EXISTS(HttpStatus.BAD_REQUEST, "User already exists"), // Indicates that the user already exists in the system
     USER_NOT_SAVED_IN_COLLECTION(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to save user in collection"), // Indicates a failure in saving user data
     PASSWORD_INCORRECT(HttpStatus.BAD_REQUEST, "Incorrect password"), // Indicates that the provided password is incorrect
+    SESSION_INVALID(HttpStatus.UNAUTHORIZED, "Session token is missing, invalid or expired"), // Indicates that the caller has no valid session
 
     // Trains
     NOT_ENOUGH_SEATS(HttpStatus.INTERNAL_SERVER_ERROR, "Not enough seats available"), // Indicates insufficient seats for a train
@@ -19,6 +20,7 @@ public enum ResponseStatus {
     TRAIN_ALREADY_EXISTS(HttpStatus.BAD_REQUEST, "Train already exists"), // Indicates that the train already exists in the system
     TRAIN_NOT_SAVED_IN_COLLECTION(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to save train in collection"), // Indicates a failure in saving train data
     TRAIN_UPDATING_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "Train update failed"), // Indicates a failure in updating train data
+    SEATS_ALREADY_BOOKED(HttpStatus.CONFLICT, "Selected seats were booked by another request"), // Indicates the seat reservation lost a race with a concurrent booking
 
     // Tickets
     TICKET_NOT_FOUND(HttpStatus.NOT_FOUND, "Ticket not found"), // Indicates that the ticket was not found in the system
@@ -26,6 +28,9 @@ public enum ResponseStatus {
     TICKET_NOT_CANCELLED(HttpStatus.INTERNAL_SERVER_ERROR, "Ticket cancellation failed"), // Indicates a failure in canceling the ticket
     TICKET_NOT_SAVED_IN_COLLECTION(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to save ticket in collection"), // Indicates a failure in saving ticket data
     INVALID_DATA(HttpStatus.BAD_REQUEST, "Invalid input data"), // Indicates that the input data provided is invalid
+    IDEMPOTENCY_KEY_IN_PROGRESS(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed"), // Indicates a duplicate of a request still running on another node
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used for a different request"), // Indicates that a key was sent again with other parameters
+    SERVICE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "Service is busy, please retry"), // Indicates that a bounded worker pool rejected the request
     EMAIL_NOT_VALID(HttpStatus.BAD_REQUEST, "Invalid user email"); // Indicates that the provided email is not valid
 
     private final HttpStatus httpStatus; // HTTP status code associated with the response
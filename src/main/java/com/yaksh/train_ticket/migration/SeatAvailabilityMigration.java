@@ -0,0 +1,84 @@
+package com.yaksh.train_ticket.migration;
+
+import com.yaksh.train_ticket.config.SeatInventoryConverters;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Online count of the free seat counters of seat inventories written before the counters existed.
+ *
+ * Bookings keep running meanwhile and already move freeSeats on such an inventory, starting from nothing.
+ * The count therefore overwrites both counters, but only if the seat words are still the ones it counted;
+ * a booking in between makes it count again. largestFreeBlock is only kept up to date by bookings once it
+ * exists, so an inventory without it is exactly one that still needs counting.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SeatAvailabilityMigration {
+    private static final int MAX_COUNT_ATTEMPTS = 5;
+    private static final String WORDS_FIELD = "seats." + SeatInventoryConverters.WORDS;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Counts the free seats of every inventory that has no counters yet, once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void countFreeSeats() {
+        Query query = Query.query(Criteria.where("largestFreeBlock").exists(false));
+        query.fields().include("_id");
+
+        int counted = 0;
+        try (Stream<TrainSeatInventory> inventories = mongoTemplate.stream(query, TrainSeatInventory.class)) {
+            for (TrainSeatInventory inventory : (Iterable<TrainSeatInventory>) inventories::iterator) {
+                if (countFreeSeats(inventory.getInventoryId())) {
+                    counted++;
+                }
+            }
+        }
+        if (counted > 0) {
+            log.info("Counted the free seats of {} seat inventories", counted);
+        }
+    }
+
+    private boolean countFreeSeats(String inventoryId) {
+        for (int attempt = 1; attempt <= MAX_COUNT_ATTEMPTS; attempt++) {
+            TrainSeatInventory inventory = mongoTemplate.findById(inventoryId, TrainSeatInventory.class);
+            if (inventory == null || inventory.getSeats() == null) {
+                return false;
+            }
+            SeatInventory seats = inventory.getSeats();
+            Query unchanged = Query.query(Criteria.where("_id").is(inventoryId).and(WORDS_FIELD).is(wordList(seats)));
+            Update counters = new Update()
+                    .set("freeSeats", seats.freeCount())
+                    .set("largestFreeBlock", seats.longestFreeRun());
+            if (mongoTemplate.updateFirst(unchanged, counters, TrainSeatInventory.class).getMatchedCount() == 1) {
+                return true;
+            }
+        }
+        log.warn("Seats of inventory {} kept changing, its free seats are counted on the next start", inventoryId);
+        return false;
+    }
+
+    private static List<Long> wordList(SeatInventory seats) {
+        List<Long> words = new ArrayList<>(seats.getWords().length);
+        for (long word : seats.getWords()) {
+            words.add(word);
+        }
+        return words;
+    }
+}
@@ -0,0 +1,134 @@
+package com.yaksh.train_ticket.migration;
+
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Online migration of seat layouts embedded in train documents ("trains.seats") into the
+ * "seat_inventories" collection.
+ *
+ * The application keeps serving while it runs: a booking on a (train, date) that has not been
+ * migrated yet migrates that date on demand through {@link #migrateTrainDate(String, LocalDate)}.
+ * Inventories are only ever inserted ($setOnInsert), so a date that was already migrated and booked
+ * since is never overwritten with the stale embedded layout. The embedded seats are removed from a
+ * train once all of its dates are copied.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SeatInventoryMigration {
+    private static final String LEGACY_SEATS_FIELD = "seats";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Migrates every train that still embeds seat layouts, once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateEmbeddedSeats() {
+        Query query = Query.query(Criteria.where(LEGACY_SEATS_FIELD).exists(true));
+        query.fields().include("_id").include(LEGACY_SEATS_FIELD);
+        String trainsCollection = mongoTemplate.getCollectionName(Train.class);
+
+        int migratedTrains = 0;
+        try (Stream<Document> trains = mongoTemplate.stream(query, Document.class, trainsCollection)) {
+            for (Document train : (Iterable<Document>) trains::iterator) {
+                migrateTrain(train, trainsCollection);
+                migratedTrains++;
+            }
+        }
+        if (migratedTrains > 0) {
+            log.info("Moved embedded seat layouts of {} trains to the seat inventory collection", migratedTrains);
+        }
+    }
+
+    /**
+     * Copies the embedded seat layout of one train and date, if there is one.
+     *
+     * @param trainPrn The PRN of the train.
+     * @param travelDate The date of travel.
+     * @return The seat inventory now stored for the train and date, or empty if the train has no embedded layout for it.
+     */
+    public Optional<SeatInventory> migrateTrainDate(String trainPrn, LocalDate travelDate) {
+        String dateField = LEGACY_SEATS_FIELD + "." + travelDate;
+        Query query = Query.query(Criteria.where("_id").is(trainPrn));
+        query.fields().include(dateField);
+        Document train = mongoTemplate.findOne(query, Document.class, mongoTemplate.getCollectionName(Train.class));
+        Document legacySeats = train == null ? null : train.get(LEGACY_SEATS_FIELD, Document.class);
+        if (legacySeats == null || legacySeats.get(travelDate.toString()) == null) {
+            return Optional.empty();
+        }
+
+        log.info("Migrating seats of train {} on {} on demand", trainPrn, travelDate);
+        String inventoryId = TrainSeatInventory.inventoryId(trainPrn, travelDate.toString());
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(inventoryId)),
+                insertOnly(trainPrn, travelDate.toString(), toSeatInventory(legacySeats.get(travelDate.toString()))),
+                TrainSeatInventory.class);
+        return Optional.ofNullable(mongoTemplate.findById(inventoryId, TrainSeatInventory.class))
+                .map(TrainSeatInventory::getSeats);
+    }
+
+    /**
+     * Copies every embedded seat layout of one train, if it still has any, and removes them from the train.
+     * Called before a train document is rewritten, which would otherwise drop layouts not copied yet.
+     *
+     * @param trainPrn The PRN of the train.
+     */
+    public void migrateTrain(String trainPrn) {
+        Query query = Query.query(Criteria.where("_id").is(trainPrn).and(LEGACY_SEATS_FIELD).exists(true));
+        query.fields().include("_id").include(LEGACY_SEATS_FIELD);
+        String trainsCollection = mongoTemplate.getCollectionName(Train.class);
+        Document train = mongoTemplate.findOne(query, Document.class, trainsCollection);
+        if (train != null) {
+            log.info("Migrating embedded seats of train {} before it is rewritten", trainPrn);
+            migrateTrain(train, trainsCollection);
+        }
+    }
+
+    private void migrateTrain(Document train, String trainsCollection) {
+        String trainPrn = train.get("_id").toString();
+        Document legacySeats = train.get(LEGACY_SEATS_FIELD, Document.class);
+        if (legacySeats != null && !legacySeats.isEmpty()) {
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainSeatInventory.class);
+            legacySeats.forEach((travelDate, layout) -> bulkOps.upsert(
+                    Query.query(Criteria.where("_id").is(TrainSeatInventory.inventoryId(trainPrn, travelDate))),
+                    insertOnly(trainPrn, travelDate, toSeatInventory(layout))));
+            bulkOps.execute();
+        }
+        // Every date is now in seat_inventories, drop the embedded copy
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(trainPrn)),
+                new Update().unset(LEGACY_SEATS_FIELD), trainsCollection);
+    }
+
+    private static Update insertOnly(String trainPrn, String travelDate, SeatInventory seats) {
+        return new Update()
+                .setOnInsert("trainPrn", trainPrn)
+                .setOnInsert("travelDate", travelDate)
+                .setOnInsert("seats", seats)
+                .setOnInsert("freeSeats", seats.freeCount())
+                .setOnInsert("largestFreeBlock", seats.longestFreeRun());
+    }
+
+    /**
+     * Reads a layout in either the packed or the nested array form through the registered converters.
+     */
+    private SeatInventory toSeatInventory(Object layout) {
+        return mongoTemplate.getConverter().getConversionService().convert(layout, SeatInventory.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.yaksh.train_ticket.migration;
+
+import com.yaksh.train_ticket.model.Ticket;
+import com.yaksh.train_ticket.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Online migration away from the ticket references embedded in user documents ("users.ticketsBooked").
+ *
+ * Tickets of a user are read through the (userId, dateOfTravel, _id) index of the tickets collection instead.
+ * Every referenced ticket that lacks its user ID gets it from the referencing user, then the embedded list is removed. Nothing reads the embedded list any more, so the application keeps serving meanwhile.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class UserTicketsMigration {
+    private static final String LEGACY_TICKETS_FIELD = "ticketsBooked";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Drops the embedded ticket lists, once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateEmbeddedTickets() {
+        Query query = Query.query(Criteria.where(LEGACY_TICKETS_FIELD).exists(true));
+        query.fields().include("_id").include(LEGACY_TICKETS_FIELD);
+        String usersCollection = mongoTemplate.getCollectionName(User.class);
+
+        int migratedUsers = 0;
+        try (Stream<Document> users = mongoTemplate.stream(query, Document.class, usersCollection)) {
+            for (Document user : (Iterable<Document>) users::iterator) {
+                migrateUser(user, usersCollection);
+                migratedUsers++;
+            }
+        }
+        if (migratedUsers > 0) {
+            log.info("Removed the embedded ticket lists of {} users", migratedUsers);
+        }
+    }
+
+    private void migrateUser(Document user, String usersCollection) {
+        Object userId = user.get("_id");
+        List<?> ticketIds = user.getList(LEGACY_TICKETS_FIELD, Object.class);
+        if (ticketIds != null && !ticketIds.isEmpty()) {
+            // Tickets are found by user ID from now on, so make sure every referenced one carries it
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ticketIds).and("userId").exists(false)),
+                    new Update().set("userId", userId.toString()), Ticket.class);
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)),
+                new Update().unset(LEGACY_TICKETS_FIELD), usersCollection);
+    }
+}
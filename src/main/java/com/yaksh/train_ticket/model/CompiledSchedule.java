@@ -0,0 +1,70 @@
+package com.yaksh.train_ticket.model;
+
+import com.yaksh.train_ticket.util.StationNames;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only lookup view of a train's stops on one travel date.
+ * Maps every canonical station name to its stop ordinal so source/destination checks and
+ * arrival time lookups are constant time instead of scanning the schedule list.
+ */
+public final class CompiledSchedule {
+    private final Map<String, Integer> stopOrdinals; // canonical station name -> first stop ordinal
+    private final LocalDateTime[] arrivalTimes; // arrival time indexed by stop ordinal
+
+    private CompiledSchedule(Map<String, Integer> stopOrdinals, LocalDateTime[] arrivalTimes) {
+        this.stopOrdinals = stopOrdinals;
+        this.arrivalTimes = arrivalTimes;
+    }
+
+    /**
+     * Compiles a day's schedule. When a station appears more than once its first stop is kept.
+     *
+     * @param schedules The stops of the train on one date, in travel order.
+     * @return The compiled schedule.
+     */
+    public static CompiledSchedule compile(List<StationSchedule> schedules) {
+        Map<String, Integer> stopOrdinals = new HashMap<>(schedules.size() * 2);
+        LocalDateTime[] arrivalTimes = new LocalDateTime[schedules.size()];
+        for (int ordinal = 0; ordinal < schedules.size(); ordinal++) {
+            StationSchedule stop = schedules.get(ordinal);
+            stopOrdinals.putIfAbsent(StationNames.canonical(stop.getName()), ordinal);
+            arrivalTimes[ordinal] = stop.getArrivalTime();
+        }
+        return new CompiledSchedule(stopOrdinals, arrivalTimes);
+    }
+
+    /**
+     * @param canonicalStation Station name in canonical form (see {@link StationNames#canonical(String)}).
+     * @return The stop ordinal of the station, or -1 if the train does not stop there.
+     */
+    public int ordinalOf(String canonicalStation) {
+        Integer ordinal = stopOrdinals.get(canonicalStation);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * @return true if the train stops at both stations and reaches the source before the destination.
+     */
+    public boolean servesInOrder(String canonicalSource, String canonicalDestination) {
+        int sourceOrdinal = ordinalOf(canonicalSource);
+        int destinationOrdinal = ordinalOf(canonicalDestination);
+        return sourceOrdinal != -1 && destinationOrdinal != -1 && sourceOrdinal < destinationOrdinal;
+    }
+
+    /**
+     * @return The arrival time at the station, or null if the train does not stop there.
+     */
+    public LocalDateTime arrivalAt(String canonicalStation) {
+        int ordinal = ordinalOf(canonicalStation);
+        return ordinal == -1 ? null : arrivalTimes[ordinal];
+    }
+
+    public int stopCount() {
+        return arrivalTimes.length;
+    }
+}
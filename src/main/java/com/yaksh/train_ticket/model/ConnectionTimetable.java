@@ -0,0 +1,358 @@
+package com.yaksh.train_ticket.model;
+
+import com.yaksh.train_ticket.util.StationNames;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Read-only in-memory timetable of every train run, used to find journeys with at most one change.
+ * For each station it keeps the calls of all runs sorted by time, so the onward trains of a change are found
+ * with a binary search. Adding or updating trains builds a new timetable that shares everything except the
+ * calls of the stations those trains serve, so readers never see a half-applied update.
+ * The timetable also keeps how far before and after the start of its schedule date any run calls at a station,
+ * so a search only reads the calls that can belong to runs of the travel date.
+ */
+public final class ConnectionTimetable {
+    private static final Call[] NO_CALLS = new Call[0];
+    private static final Comparator<Call> CALL_ORDER = Comparator
+            .comparing(Call::time)
+            .thenComparing(call -> call.run.trainPrn)
+            .thenComparing(call -> call.run.travelDate);
+    // Earliest arrival first; among equal arrivals fewer changes, then the latest departure
+    private static final Comparator<Journey> JOURNEY_ORDER = Comparator
+            .comparing(Journey::getArrivalTime)
+            .thenComparing(Journey::getChanges)
+            .thenComparing(Journey::getDepartureTime, Comparator.reverseOrder());
+
+    private final Map<String, List<Run>> runsByTrain; // train PRN -> its runs, one per schedule date
+    private final Map<String, Call[]> callsByStation; // canonical station name -> calls sorted by time
+    // Earliest and latest call of any run, from the start of the run's schedule date; only ever widened by updates
+    private final Duration earliestCall;
+    private final Duration latestCall;
+
+    private ConnectionTimetable(Map<String, List<Run>> runsByTrain, Map<String, Call[]> callsByStation,
+                                Duration earliestCall, Duration latestCall) {
+        this.runsByTrain = runsByTrain;
+        this.callsByStation = callsByStation;
+        this.earliestCall = earliestCall;
+        this.latestCall = latestCall;
+    }
+
+    public static ConnectionTimetable empty() {
+        return new ConnectionTimetable(Map.of(), Map.of(), Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * @param trains Trains with their schedules.
+     * @return A timetable of the given trains.
+     */
+    public static ConnectionTimetable of(Collection<Train> trains) {
+        return empty().withTrains(trains);
+    }
+
+    /**
+     * Returns a timetable where the runs of the given trains replace the ones they had, if any.
+     * Only the calls of stations served before or after the change are re-sorted.
+     *
+     * @param trains Trains that were added or updated, with all of their schedules.
+     * @return The updated timetable; this one is left unchanged.
+     */
+    public ConnectionTimetable withTrains(Collection<Train> trains) {
+        Map<String, List<Run>> runs = new HashMap<>(runsByTrain);
+        Set<String> changedTrains = new HashSet<>();
+        Set<String> touchedStations = new HashSet<>();
+        Duration earliest = earliestCall;
+        Duration latest = latestCall;
+        for (Train train : trains) {
+            changedTrains.add(train.getPrn());
+            List<Run> previousRuns = runs.remove(train.getPrn());
+            if (previousRuns != null) {
+                previousRuns.forEach(run -> touchedStations.addAll(run.ordinals.keySet()));
+            }
+            List<Run> currentRuns = Run.of(train);
+            if (!currentRuns.isEmpty()) {
+                runs.put(train.getPrn(), currentRuns);
+                for (Run run : currentRuns) {
+                    touchedStations.addAll(run.ordinals.keySet());
+                    if (run.stopCount() > 0) {
+                        earliest = min(earliest, run.offsetOf(0));
+                        latest = max(latest, run.offsetOf(run.stopCount() - 1));
+                    }
+                }
+            }
+        }
+
+        Map<String, Call[]> calls = new HashMap<>(callsByStation);
+        for (String station : touchedStations) {
+            List<Call> stationCalls = new ArrayList<>();
+            for (Call call : callsByStation.getOrDefault(station, NO_CALLS)) {
+                if (!changedTrains.contains(call.run.trainPrn)) {
+                    stationCalls.add(call);
+                }
+            }
+            for (String trainPrn : changedTrains) {
+                for (Run run : runs.getOrDefault(trainPrn, List.of())) {
+                    int ordinal = run.ordinalOf(station);
+                    if (ordinal != -1) {
+                        stationCalls.add(new Call(run, ordinal));
+                    }
+                }
+            }
+            if (stationCalls.isEmpty()) {
+                calls.remove(station);
+            } else {
+                stationCalls.sort(CALL_ORDER);
+                calls.put(station, stationCalls.toArray(NO_CALLS));
+            }
+        }
+        return new ConnectionTimetable(runs, calls, earliest, latest);
+    }
+
+    /**
+     * Finds the journeys from a source to a destination that leave on the travel date, direct or with one change.
+     * A journey is left out when another one leaves no earlier, arrives no later and has no more changes.
+     *
+     * @param canonicalSource      Source station name in canonical form (see {@link StationNames#canonical(String)}).
+     * @param canonicalDestination Destination station name in canonical form.
+     * @param travelDate           The schedule date of the first train.
+     * @param minTransfer          The least time between arriving on the first train and leaving on the second.
+     * @param maxTransfer          The most time between arriving on the first train and leaving on the second.
+     * @return The journeys, earliest arrival first.
+     */
+    public List<Journey> findJourneys(String canonicalSource, String canonicalDestination, LocalDate travelDate,
+                                      Duration minTransfer, Duration maxTransfer) {
+        List<Journey> journeys = new ArrayList<>();
+        // Only calls within the span any run of the travel date can reach are read, not those of every date
+        Call[] sourceCalls = callsByStation.getOrDefault(canonicalSource, NO_CALLS);
+        LocalDateTime startOfDate = travelDate.atStartOfDay();
+        LocalDateTime lastCall = startOfDate.plus(latestCall);
+        for (int i = firstCallFrom(sourceCalls, startOfDate.plus(earliestCall));
+             i < sourceCalls.length && !sourceCalls[i].time().isAfter(lastCall); i++) {
+            Call boarding = sourceCalls[i];
+            Run firstRun = boarding.run;
+            if (!firstRun.travelDate.equals(travelDate)) {
+                continue;
+            }
+            int destinationOrdinal = firstRun.ordinalOf(canonicalDestination);
+            boolean reachesDestination = destinationOrdinal > boarding.ordinal;
+            if (reachesDestination) {
+                journeys.add(new Journey(List.of(new Leg(firstRun, boarding.ordinal, destinationOrdinal))));
+            }
+            // Change at any later stop before the destination; a faster train may still be worth a change
+            int lastChangeOrdinal = reachesDestination ? destinationOrdinal : firstRun.stopCount();
+            for (int change = boarding.ordinal + 1; change < lastChangeOrdinal; change++) {
+                addConnections(journeys, firstRun, boarding.ordinal, change, canonicalDestination, minTransfer, maxTransfer);
+            }
+        }
+        return fastest(journeys);
+    }
+
+    public int trainCount() {
+        return runsByTrain.size();
+    }
+
+    public int stationCount() {
+        return callsByStation.size();
+    }
+
+    private void addConnections(List<Journey> journeys, Run firstRun, int boardingOrdinal, int changeOrdinal,
+                                String canonicalDestination, Duration minTransfer, Duration maxTransfer) {
+        Call[] onwardCalls = callsByStation.getOrDefault(firstRun.stations[changeOrdinal], NO_CALLS);
+        LocalDateTime arrival = firstRun.times[changeOrdinal];
+        LocalDateTime latestDeparture = arrival.plus(maxTransfer);
+        for (int i = firstCallFrom(onwardCalls, arrival.plus(minTransfer));
+             i < onwardCalls.length && !onwardCalls[i].time().isAfter(latestDeparture); i++) {
+            Call onward = onwardCalls[i];
+            if (onward.run.trainPrn.equals(firstRun.trainPrn)) {
+                continue; // Staying on the same train is not a change
+            }
+            int arrivalOrdinal = onward.run.ordinalOf(canonicalDestination);
+            if (arrivalOrdinal > onward.ordinal) {
+                journeys.add(new Journey(List.of(
+                        new Leg(firstRun, boardingOrdinal, changeOrdinal),
+                        new Leg(onward.run, onward.ordinal, arrivalOrdinal))));
+            }
+        }
+    }
+
+    /**
+     * @return The index of the first call at or after the given time, or the length of the array if there is none.
+     */
+    private static int firstCallFrom(Call[] calls, LocalDateTime time) {
+        int low = 0;
+        int high = calls.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (calls[middle].time().isBefore(time)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    private static Duration max(Duration first, Duration second) {
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+
+    /**
+     * Keeps the journeys no other journey beats on departure, arrival and number of changes at once.
+     */
+    private static List<Journey> fastest(List<Journey> journeys) {
+        journeys.sort(JOURNEY_ORDER);
+        List<Journey> kept = new ArrayList<>();
+        // Latest departure kept so far per number of changes; every kept journey arrives no later than the current one
+        LocalDateTime[] latestDepartures = new LocalDateTime[2];
+        for (Journey journey : journeys) {
+            boolean dominated = false;
+            for (int changes = 0; changes <= journey.getChanges(); changes++) {
+                LocalDateTime latestDeparture = latestDepartures[changes];
+                if (latestDeparture != null && !latestDeparture.isBefore(journey.getDepartureTime())) {
+                    dominated = true;
+                    break;
+                }
+            }
+            if (!dominated) {
+                kept.add(journey);
+                LocalDateTime latestDeparture = latestDepartures[journey.getChanges()];
+                if (latestDeparture == null || journey.getDepartureTime().isAfter(latestDeparture)) {
+                    latestDepartures[journey.getChanges()] = journey.getDepartureTime();
+                }
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * A trip from one station to another, direct or with one change.
+     */
+    @Getter
+    public static final class Journey {
+        private final List<Leg> legs;
+        private final LocalDateTime departureTime;
+        private final LocalDateTime arrivalTime;
+        private final int changes;
+
+        private Journey(List<Leg> legs) {
+            this.legs = legs;
+            this.departureTime = legs.get(0).getDepartureTime();
+            this.arrivalTime = legs.get(legs.size() - 1).getArrivalTime();
+            this.changes = legs.size() - 1;
+        }
+    }
+
+    /**
+     * The part of a journey spent on one train, with the station names as written in its schedule.
+     */
+    @Getter
+    public static final class Leg {
+        private final String trainPrn;
+        private final String trainName;
+        private final LocalDate travelDate; // Schedule date of the train, as used to book it
+        private final String source;
+        private final String destination;
+        private final LocalDateTime departureTime;
+        private final LocalDateTime arrivalTime;
+
+        private Leg(Run run, int fromOrdinal, int toOrdinal) {
+            this.trainPrn = run.trainPrn;
+            this.trainName = run.trainName;
+            this.travelDate = run.travelDate;
+            this.source = run.stationNames[fromOrdinal];
+            this.destination = run.stationNames[toOrdinal];
+            this.departureTime = run.times[fromOrdinal];
+            this.arrivalTime = run.times[toOrdinal];
+        }
+    }
+
+    /**
+     * One train on one schedule date. When a station appears more than once its first stop is kept, as in
+     * {@link CompiledSchedule}; stops without a time cannot be connected to and are left out.
+     */
+    private static final class Run {
+        private final String trainPrn;
+        private final String trainName;
+        private final LocalDate travelDate;
+        private final String[] stations; // canonical names in stop order
+        private final String[] stationNames;
+        private final LocalDateTime[] times;
+        private final Map<String, Integer> ordinals;
+
+        private Run(String trainPrn, String trainName, LocalDate travelDate, List<StationSchedule> stops) {
+            this.trainPrn = trainPrn;
+            this.trainName = trainName;
+            this.travelDate = travelDate;
+            this.ordinals = new HashMap<>(stops.size() * 2);
+            List<StationSchedule> kept = new ArrayList<>(stops.size());
+            for (StationSchedule stop : stops) {
+                String station = StationNames.canonical(stop.getName());
+                if (station != null && stop.getArrivalTime() != null && !ordinals.containsKey(station)) {
+                    ordinals.put(station, kept.size());
+                    kept.add(stop);
+                }
+            }
+            this.stations = new String[kept.size()];
+            this.stationNames = new String[kept.size()];
+            this.times = new LocalDateTime[kept.size()];
+            for (int ordinal = 0; ordinal < kept.size(); ordinal++) {
+                stations[ordinal] = StationNames.canonical(kept.get(ordinal).getName());
+                stationNames[ordinal] = kept.get(ordinal).getName();
+                times[ordinal] = kept.get(ordinal).getArrivalTime();
+            }
+        }
+
+        private static List<Run> of(Train train) {
+            List<Run> runs = new ArrayList<>();
+            if (train.getSchedules() != null) {
+                train.getSchedules().forEach((date, stops) -> {
+                    if (stops != null && stops.size() > 1) {
+                        runs.add(new Run(train.getPrn(), train.getTrainName(), LocalDate.parse(date), stops));
+                    }
+                });
+            }
+            return runs;
+        }
+
+        private int ordinalOf(String canonicalStation) {
+            Integer ordinal = ordinals.get(canonicalStation);
+            return ordinal == null ? -1 : ordinal;
+        }
+
+        private int stopCount() {
+            return times.length;
+        }
+
+        /**
+         * @return The time of a stop, from the start of the run's schedule date.
+         */
+        private Duration offsetOf(int ordinal) {
+            return Duration.between(travelDate.atStartOfDay(), times[ordinal]);
+        }
+    }
+
+    /**
+     * A run stopping at a station.
+     */
+    private static final class Call {
+        private final Run run;
+        private final int ordinal;
+
+        private Call(Run run, int ordinal) {
+            this.run = run;
+            this.ordinal = ordinal;
+        }
+
+        private LocalDateTime time() {
+            return run.times[ordinal];
+        }
+    }
+}
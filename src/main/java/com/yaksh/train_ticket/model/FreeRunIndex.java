@@ -0,0 +1,105 @@
+package com.yaksh.train_ticket.model;
+
+/**
+ * Segment tree over the seats of one {@link SeatInventory} tracking runs of available seats.
+ * Every node keeps the free run touching its left edge (prefix), its right edge (suffix),
+ * the longest run inside it and its free seat count, so the first block of N contiguous
+ * available seats is found in O(log n) and a booking or cancellation updates O(log n) nodes.
+ */
+public final class FreeRunIndex {
+    private final int size; // number of leaves, a power of two; leaves past the last seat count as booked
+    private final int[] prefix;
+    private final int[] suffix;
+    private final int[] best;
+    private final int[] free;
+
+    /**
+     * Builds the index in O(n) from the current state of the inventory.
+     */
+    FreeRunIndex(SeatInventory inventory) {
+        int totalSeats = inventory.totalSeats();
+        this.size = Math.max(1, Integer.highestOneBit(Math.max(1, totalSeats - 1)) << 1);
+        this.prefix = new int[2 * size];
+        this.suffix = new int[2 * size];
+        this.best = new int[2 * size];
+        this.free = new int[2 * size];
+        for (int seat = 0; seat < totalSeats; seat++) {
+            setLeaf(seat, !inventory.isBooked(seat));
+        }
+        for (int node = size - 1; node >= 1; node--) {
+            pull(node);
+        }
+    }
+
+    /**
+     * Marks a seat as booked or available and refreshes its ancestors.
+     */
+    void update(int seat, boolean available) {
+        setLeaf(seat, available);
+        for (int node = (seat + size) >>> 1; node >= 1; node >>>= 1) {
+            pull(node);
+        }
+    }
+
+    /**
+     * @param count The number of contiguous seats wanted.
+     * @return The seat index where the first run of at least count available seats starts, or -1.
+     */
+    int findFirstRun(int count) {
+        if (count <= 0 || best[1] < count) {
+            return -1;
+        }
+        int node = 1;
+        int start = 0;
+        int length = size;
+        while (node < size) {
+            int left = node << 1;
+            int right = left | 1;
+            int half = length >>> 1;
+            if (best[left] >= count) {
+                node = left;
+            } else if (suffix[left] + prefix[right] >= count) {
+                // The run crosses the middle of this node: it starts where the left suffix run starts
+                return start + half - suffix[left];
+            } else {
+                node = right;
+                start += half;
+            }
+            length = half;
+        }
+        return start;
+    }
+
+    /**
+     * @return The length of the longest run of available seats.
+     */
+    int longestRun() {
+        return best[1];
+    }
+
+    /**
+     * @return The number of available seats.
+     */
+    int freeCount() {
+        return free[1];
+    }
+
+    private void setLeaf(int seat, boolean available) {
+        int leaf = seat + size;
+        int value = available ? 1 : 0;
+        prefix[leaf] = value;
+        suffix[leaf] = value;
+        best[leaf] = value;
+        free[leaf] = value;
+    }
+
+    private void pull(int node) {
+        int left = node << 1;
+        int right = left | 1;
+        int childLength = size / Integer.highestOneBit(node) >>> 1;
+        prefix[node] = prefix[left] == childLength ? childLength + prefix[right] : prefix[left];
+        suffix[node] = suffix[right] == childLength ? childLength + suffix[left] : suffix[right];
+        best[node] = Math.max(Math.max(best[left], best[right]), suffix[left] + prefix[right]);
+        free[node] = free[left] + free[right];
+    }
+}
@@ -0,0 +1,35 @@
+package com.yaksh.train_ticket.model;
+
+import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a request sent with an Idempotency-Key, shared by all nodes.
+ * The record is inserted before the request runs (completed = false) so a duplicate on another node can tell it
+ * is in flight, and expires through a TTL index on createdAt.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+    @Id
+    private String recordId; // userId|idempotencyKey
+    private String userId;
+    private String requestFingerprint; // parameters of the request, a key may not be reused for another request
+    private boolean completed;
+    private ResponseDataDTO response;
+    private Instant createdAt;
+
+    public static String recordId(String userId, String idempotencyKey) {
+        return userId + "|" + idempotencyKey;
+    }
+}
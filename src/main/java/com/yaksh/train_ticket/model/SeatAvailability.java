@@ -0,0 +1,21 @@
+package com.yaksh.train_ticket.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Free seat counters of one train on one date, read from the seat inventory without its seat words.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SeatAvailability {
+    private Integer freeSeats;
+    private Integer largestFreeBlock; // Longest run of contiguous free seats, in seat order
+}
@@ -0,0 +1,236 @@
+package com.yaksh.train_ticket.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Seat layout of a train on one travel date, stored as a bitset (1 = booked, 0 = available).
+ * Seats are numbered row by row, seat index = row * cols + col, and packed 64 per long word.
+ * Over JSON it keeps the original representation of a matrix of 0/1 values.
+ */
+public final class SeatInventory {
+    private final int rows;
+    private final int cols;
+    private final long[] words;
+    private FreeRunIndex freeRunIndex; // built on first run lookup, then kept in sync by book/free
+
+    /**
+     * Creates an inventory with every seat available.
+     */
+    public SeatInventory(int rows, int cols) {
+        this(rows, cols, new long[wordCount(rows * cols)]);
+    }
+
+    /**
+     * Creates an inventory from already packed words (used when reading from MongoDB).
+     */
+    public SeatInventory(int rows, int cols, long[] words) {
+        if (rows < 0 || cols < 0 || words.length != wordCount(rows * cols)) {
+            throw new IllegalArgumentException(
+                    String.format("%d words cannot hold a %dx%d seat layout", words.length, rows, cols));
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.words = words;
+    }
+
+    /**
+     * Builds an inventory from a seat matrix where 1 marks a booked seat and 0 an available one.
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static SeatInventory fromMatrix(List<List<Integer>> matrix) {
+        int rows = matrix.size();
+        int cols = rows == 0 ? 0 : matrix.get(0).size();
+        SeatInventory inventory = new SeatInventory(rows, cols);
+        for (int row = 0; row < rows; row++) {
+            List<Integer> seatRow = matrix.get(row);
+            if (seatRow.size() != cols) {
+                throw new IllegalArgumentException("Every seat row must have the same number of seats");
+            }
+            for (int col = 0; col < cols; col++) {
+                if (seatRow.get(col) == 1) {
+                    inventory.book(row, col);
+                }
+            }
+        }
+        return inventory;
+    }
+
+    /**
+     * @return The layout as a matrix of 0/1 values, the shape exposed by the REST API.
+     */
+    @JsonValue
+    public List<List<Integer>> toMatrix() {
+        List<List<Integer>> matrix = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            List<Integer> seatRow = new ArrayList<>(cols);
+            for (int col = 0; col < cols; col++) {
+                seatRow.add(isBooked(row, col) ? 1 : 0);
+            }
+            matrix.add(seatRow);
+        }
+        return matrix;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int totalSeats() {
+        return rows * cols;
+    }
+
+    /**
+     * @return A copy of the packed words.
+     */
+    public long[] getWords() {
+        return words.clone();
+    }
+
+    public boolean isBooked(int row, int col) {
+        return isBooked(seatIndex(row, col));
+    }
+
+    public boolean isBooked(int seatIndex) {
+        return (words[seatIndex >>> 6] & (1L << seatIndex)) != 0;
+    }
+
+    public void book(int row, int col) {
+        int seatIndex = seatIndex(row, col);
+        words[seatIndex >>> 6] |= 1L << seatIndex;
+        if (freeRunIndex != null) {
+            freeRunIndex.update(seatIndex, false);
+        }
+    }
+
+    public void free(int row, int col) {
+        int seatIndex = seatIndex(row, col);
+        words[seatIndex >>> 6] &= ~(1L << seatIndex);
+        if (freeRunIndex != null) {
+            freeRunIndex.update(seatIndex, true);
+        }
+    }
+
+    /**
+     * @return The number of available seats.
+     */
+    public int freeCount() {
+        if (freeRunIndex != null) {
+            return freeRunIndex.freeCount();
+        }
+        int booked = 0;
+        for (long word : words) {
+            booked += Long.bitCount(word);
+        }
+        return totalSeats() - booked;
+    }
+
+    /**
+     * Finds the first run of contiguous available seats, in seat index order, in O(log n).
+     *
+     * @param count The number of contiguous seats wanted.
+     * @return The seat index where the run starts, or -1 if there is no such run.
+     */
+    public int findContiguousFree(int count) {
+        return freeRunIndex().findFirstRun(count);
+    }
+
+    /**
+     * @return The length of the longest run of contiguous available seats.
+     */
+    public int longestFreeRun() {
+        return freeRunIndex().longestRun();
+    }
+
+    /**
+     * Finds the first available seats in seat index order, not necessarily contiguous.
+     *
+     * @param count The number of seats wanted.
+     * @return The seat indexes found, or null if fewer than count seats are available.
+     */
+    public int[] findFree(int count) {
+        int totalSeats = totalSeats();
+        int[] found = new int[count];
+        int foundSeats = 0;
+        for (int wordIndex = 0; wordIndex < words.length && foundSeats < count; wordIndex++) {
+            long freeBits = ~words[wordIndex];
+            while (freeBits != 0 && foundSeats < count) {
+                int seat = (wordIndex << 6) + Long.numberOfTrailingZeros(freeBits);
+                if (seat >= totalSeats) {
+                    break;
+                }
+                found[foundSeats++] = seat;
+                freeBits &= freeBits - 1; // clear the lowest free bit
+            }
+        }
+        return foundSeats == count ? found : null;
+    }
+
+    /**
+     * Groups seat positions by packed word, the shape used for targeted seat updates in MongoDB.
+     *
+     * @param seats Seat positions as [row, col] pairs.
+     * @return Word index to bitmask of the given seats, ordered by word index.
+     */
+    public Map<Integer, Long> wordMasks(List<List<Integer>> seats) {
+        Map<Integer, Long> masks = new TreeMap<>();
+        for (List<Integer> seat : seats) {
+            int seatIndex = seatIndex(seat.get(0), seat.get(1));
+            masks.merge(seatIndex >>> 6, 1L << seatIndex, (mask, bit) -> mask | bit);
+        }
+        return masks;
+    }
+
+    public int seatIndex(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException(String.format("Seat (%d, %d) is outside the %dx%d layout", row, col, rows, cols));
+        }
+        return row * cols + col;
+    }
+
+    public int rowOf(int seatIndex) {
+        return seatIndex / cols;
+    }
+
+    public int colOf(int seatIndex) {
+        return seatIndex % cols;
+    }
+
+    private FreeRunIndex freeRunIndex() {
+        if (freeRunIndex == null) {
+            freeRunIndex = new FreeRunIndex(this);
+        }
+        return freeRunIndex;
+    }
+
+    private static int wordCount(int totalSeats) {
+        return (totalSeats + 63) >>> 6;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SeatInventory that)) return false;
+        return rows == that.rows && cols == that.cols && Arrays.equals(words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + cols) + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SeatInventory(%dx%d, %d free)", rows, cols, freeCount());
+    }
+}
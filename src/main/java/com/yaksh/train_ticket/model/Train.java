@@ -1,10 +1,12 @@
 package com.yaksh.train_ticket.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -12,6 +14,7 @@ import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -27,11 +30,63 @@ public class Train {
     @Id
     private String prn;
     private String trainName;
-    private Map<String,List<List<Integer>>> seats;
+    // Seats live in the seat_inventories collection; accepted on input and filled per date on demand
+    @Transient
+    private Map<String,SeatInventory> seats;
     @Field("schedules")
     private Map<String, List<StationSchedule>> schedules;
+    // Free seat counters of the searched date, filled in by search; never persisted
+    @Transient
+    private SeatAvailability availability;
+
+    // Lookup view of schedules per date, built when the train is loaded or saved; never persisted
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Map<LocalDate, CompiledSchedule> compiledSchedules;
 
     public String getTrainInfo(){
         return String.format("Train ID: %s",prn);
     }
+
+    public void setSchedules(Map<String, List<StationSchedule>> schedules) {
+        this.schedules = schedules;
+        this.compiledSchedules = null; // stale once the schedules change
+    }
+
+    /**
+     * @return A copy without seats, with its own schedules map; the stop lists and the compiled view are shared and read-only.
+     */
+    public Train copyWithoutSeats() {
+        Train copy = new Train(prn, trainName, null, schedules == null ? null : new HashMap<>(schedules), null, null);
+        copy.compiledSchedules = compiledSchedules;
+        return copy;
+    }
+
+    /**
+     * Compiles every date's schedule into a {@link CompiledSchedule}.
+     */
+    public void compileSchedules() {
+        Map<LocalDate, CompiledSchedule> compiled = new HashMap<>();
+        if (schedules != null) {
+            schedules.forEach((date, stops) -> {
+                if (stops != null) {
+                    compiled.put(LocalDate.parse(date), CompiledSchedule.compile(stops));
+                }
+            });
+        }
+        this.compiledSchedules = compiled;
+    }
+
+    /**
+     * @param travelDate The date of travel.
+     * @return The compiled schedule for the date, or null if the train does not run that day.
+     */
+    public CompiledSchedule getCompiledSchedule(LocalDate travelDate) {
+        if (compiledSchedules == null) {
+            compileSchedules();
+        }
+        return compiledSchedules.get(travelDate);
+    }
 }
@@ -0,0 +1,32 @@
+package com.yaksh.train_ticket.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Set;
+
+/**
+ * Route index entry mapping a (source, destination, travel date) triple to the trains serving it.
+ * Station names are stored in canonical form so lookups do not depend on the casing used by the caller.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "train_routes")
+public class TrainRoute {
+    @Id
+    private String routeKey; // source|destination|travelDate
+    private String source;
+    private String destination;
+    private String travelDate;
+    private Set<String> trainPrns; // PRNs of trains stopping at source before destination on travelDate
+
+    public static String routeKey(String source, String destination, String travelDate) {
+        return source + "|" + destination + "|" + travelDate;
+    }
+}
@@ -0,0 +1,55 @@
+package com.yaksh.train_ticket.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Seat inventory of one train on one travel date, kept in its own small document
+ * so that reading a train never loads seat data and a booking writes only this document.
+ * The free seat counters next to the seats let a search show availability without reading any seat words:
+ * freeSeats changes with every seat update ($inc), largestFreeBlock is set by the node that changed it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "seat_inventories")
+public class TrainSeatInventory {
+    @Id
+    private String inventoryId; // trainPrn|travelDate
+    private String trainPrn;
+    private String travelDate;
+    private SeatInventory seats;
+    private Integer freeSeats;
+    private Integer largestFreeBlock;
+
+    public static String inventoryId(String trainPrn, String travelDate) {
+        return trainPrn + "|" + travelDate;
+    }
+
+    public static TrainSeatInventory of(String trainPrn, String travelDate, SeatInventory seats) {
+        return new TrainSeatInventory(inventoryId(trainPrn, travelDate), trainPrn, travelDate, seats,
+                seats == null ? null : seats.freeCount(), seats == null ? null : seats.longestFreeRun());
+    }
+
+    /**
+     * @return One seat inventory per train and date for the seats carried by the given trains.
+     */
+    public static List<TrainSeatInventory> forTrains(Collection<Train> trains) {
+        List<TrainSeatInventory> inventories = new ArrayList<>();
+        for (Train train : trains) {
+            if (train.getSeats() != null) {
+                train.getSeats().forEach((date, seats) -> inventories.add(of(train.getPrn(), date, seats)));
+            }
+        }
+        return inventories;
+    }
+}
@@ -9,9 +9,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.DocumentReference;
-
-import java.util.List;
 
 /**
  * Represents a User entity in the system.
@@ -34,6 +31,5 @@ public class User {
 
     private String hashedPassword; // Hashed password for secure authentication.
 
-    @DocumentReference // Establishes a reference to other documents (tickets) in MongoDB.
-    private List<Ticket> ticketsBooked; // List of tickets booked by the user.
+    // Tickets are not embedded: each ticket carries its userId and is looked up through the tickets index
 }
\ No newline at end of file
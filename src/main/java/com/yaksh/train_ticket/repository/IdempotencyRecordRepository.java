@@ -0,0 +1,7 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+}
@@ -0,0 +1,87 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.Ticket;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.model.TrainRoute;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import com.yaksh.train_ticket.model.User;
+import lombok.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The indexes the repository queries rely on, and one sample of each of those queries to explain.
+ * An index added for a new query belongs here, together with the query, so it is created at startup
+ * and its plan is checked by the index report.
+ */
+public final class IndexRegistry {
+
+    /**
+     * An index that must exist on the collection of an entity.
+     */
+    @Value
+    public static class RequiredIndex {
+        Class<?> entityClass;
+        Index index;
+        String usedBy;
+    }
+
+    /**
+     * A query as a repository sends it, with sample values, whose plan must not be a collection scan.
+     */
+    @Value
+    public static class RegisteredQuery {
+        String name;
+        Class<?> entityClass;
+        Query query;
+    }
+
+    private static final LocalDate SAMPLE_DATE = LocalDate.of(2030, 1, 1);
+
+    public static final List<RequiredIndex> REQUIRED_INDEXES = List.of(
+            new RequiredIndex(User.class,
+                    new Index().on("userEmail", Sort.Direction.ASC).unique(),
+                    "UserRepositoryV2.findByUserEmail, one account per email"),
+            new RequiredIndex(Ticket.class,
+                    new Index().on("userId", Sort.Direction.ASC).on("dateOfTravel", Sort.Direction.ASC).on("_id", Sort.Direction.ASC),
+                    "TicketRepositoryCustom.findTicketsOfUser / countTicketsOfUser"),
+            new RequiredIndex(TrainRoute.class,
+                    new Index().on("trainPrns", Sort.Direction.ASC),
+                    "RouteIndexService, removing a train from its old routes"));
+
+    public static final List<RegisteredQuery> QUERIES = List.of(
+            new RegisteredQuery("UserRepositoryV2.findByUserEmail", User.class,
+                    Query.query(Criteria.where("userEmail").is("user@example.com"))),
+            new RegisteredQuery("TicketRepositoryCustom.findTicketsOfUser", Ticket.class,
+                    Query.query(Criteria.where("userId").is("user-id").and("dateOfTravel").gte(SAMPLE_DATE))
+                            .with(Sort.by(Sort.Order.asc("dateOfTravel"), Sort.Order.asc("_id")))
+                            .limit(21)),
+            new RegisteredQuery("TicketRepositoryCustom.countTicketsOfUser", Ticket.class,
+                    Query.query(Criteria.where("userId").is("user-id"))),
+            new RegisteredQuery("TicketRepositoryV2.findById", Ticket.class,
+                    Query.query(Criteria.where("_id").is("ticket-id"))),
+            new RegisteredQuery("TicketRepositoryCustom.deleteTicketOfUser", Ticket.class,
+                    Query.query(Criteria.where("_id").is("ticket-id").and("userId").is("user-id"))),
+            new RegisteredQuery("TrainRepositoryCustom.findByIdWithScheduleOf", Train.class,
+                    Query.query(Criteria.where("_id").is("12345"))),
+            new RegisteredQuery("TrainRepositoryCustom.findAllByIdWithScheduleOf", Train.class,
+                    TrainRepositoryCustomImpl.scheduleOf(List.of("12345", "67890"), SAMPLE_DATE)),
+            new RegisteredQuery("TrainRepositoryCustom.findExistingPrns", Train.class,
+                    Query.query(Criteria.where("_id").in(List.of("12345", "67890")))),
+            new RegisteredQuery("TrainRouteRepository.findById", TrainRoute.class,
+                    Query.query(Criteria.where("_id").is(TrainRoute.routeKey("station-1", "station-2", SAMPLE_DATE.toString())))),
+            new RegisteredQuery("RouteIndexService.indexTrain", TrainRoute.class,
+                    Query.query(Criteria.where("trainPrns").is("12345"))),
+            new RegisteredQuery("TrainSeatInventoryRepositoryCustom.findSeats", TrainSeatInventory.class,
+                    SeatUpdates.seatsOnly("12345", SAMPLE_DATE)),
+            new RegisteredQuery("TrainSeatInventoryRepositoryCustom.findAvailability", TrainSeatInventory.class,
+                    SeatUpdates.availabilityOf(List.of("12345", "67890"), SAMPLE_DATE)));
+
+    private IndexRegistry() {
+    }
+}
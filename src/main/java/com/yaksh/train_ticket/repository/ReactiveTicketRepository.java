@@ -0,0 +1,10 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.Ticket;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * Non-blocking counterpart of {@link TicketRepositoryV2}, used by the reactive endpoints.
+ */
+public interface ReactiveTicketRepository extends ReactiveMongoRepository<Ticket, String> {
+}
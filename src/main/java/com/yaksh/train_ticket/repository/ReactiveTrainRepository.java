@@ -0,0 +1,10 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.Train;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * Non-blocking counterpart of {@link TrainRepositoryV2}, used by the reactive endpoints.
+ */
+public interface ReactiveTrainRepository extends ReactiveMongoRepository<Train, String>, ReactiveTrainRepositoryCustom {
+}
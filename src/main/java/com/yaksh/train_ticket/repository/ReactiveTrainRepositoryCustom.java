@@ -0,0 +1,22 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.Train;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Non-blocking counterpart of {@link TrainRepositoryCustom}.
+ */
+public interface ReactiveTrainRepositoryCustom {
+
+    /**
+     * Streams several trains with only their name and the schedule of one date.
+     *
+     * @param trainPrns The PRNs of the trains.
+     * @param travelDate The date of travel.
+     * @return The trains that exist, each holding its name and at most the schedule of the given date.
+     */
+    Flux<Train> findAllByIdWithScheduleOf(Collection<String> trainPrns, LocalDate travelDate);
+}
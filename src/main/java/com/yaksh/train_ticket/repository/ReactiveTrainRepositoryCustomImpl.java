@@ -0,0 +1,25 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.Train;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * ReactiveMongoTemplate implementation of {@link ReactiveTrainRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class ReactiveTrainRepositoryCustomImpl implements ReactiveTrainRepositoryCustom {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<Train> findAllByIdWithScheduleOf(Collection<String> trainPrns, LocalDate travelDate) {
+        if (trainPrns.isEmpty()) {
+            return Flux.empty();
+        }
+        return reactiveMongoTemplate.find(TrainRepositoryCustomImpl.scheduleOf(trainPrns, travelDate), Train.class);
+    }
+}
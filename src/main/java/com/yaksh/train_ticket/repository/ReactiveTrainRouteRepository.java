@@ -0,0 +1,10 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.TrainRoute;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * Non-blocking counterpart of {@link TrainRouteRepository}, used by the reactive search.
+ */
+public interface ReactiveTrainRouteRepository extends ReactiveMongoRepository<TrainRoute, String> {
+}
@@ -0,0 +1,10 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * Non-blocking counterpart of {@link TrainSeatInventoryRepository}, used by the reactive booking.
+ */
+public interface ReactiveTrainSeatInventoryRepository extends ReactiveMongoRepository<TrainSeatInventory, String>, ReactiveTrainSeatInventoryRepositoryCustom {
+}
@@ -0,0 +1,40 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.SeatAvailability;
+import com.yaksh.train_ticket.model.SeatInventory;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link TrainSeatInventoryRepositoryCustom}, with the same conditional seat updates.
+ */
+public interface ReactiveTrainSeatInventoryRepositoryCustom {
+
+    /**
+     * @return The seat layout of the train on the date, or empty if there is no inventory for it.
+     */
+    Mono<SeatInventory> findSeats(String trainPrn, LocalDate travelDate);
+
+    /**
+     * @return true if the seats were booked, false if at least one of them was already taken.
+     */
+    Mono<Boolean> reserveSeats(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks);
+
+    /**
+     * @return true if the seats were freed, false if there is no inventory or at least one of them was already free.
+     */
+    Mono<Boolean> releaseSeats(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks);
+
+    /**
+     * @return Train PRN to its free seat counters, for the trains that have an inventory on the date.
+     */
+    Mono<Map<String, SeatAvailability>> findAvailability(Collection<String> trainPrns, LocalDate travelDate);
+
+    /**
+     * Stores the longest run of contiguous free seats after a booking or cancellation changed it.
+     */
+    Mono<Void> updateLargestFreeBlock(String trainPrn, LocalDate travelDate, int largestFreeBlock);
+}
@@ -0,0 +1,56 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.SeatAvailability;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * ReactiveMongoTemplate implementation of {@link ReactiveTrainSeatInventoryRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class ReactiveTrainSeatInventoryRepositoryCustomImpl implements ReactiveTrainSeatInventoryRepositoryCustom {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<SeatInventory> findSeats(String trainPrn, LocalDate travelDate) {
+        return reactiveMongoTemplate.findOne(SeatUpdates.seatsOnly(trainPrn, travelDate), TrainSeatInventory.class)
+                .map(TrainSeatInventory::getSeats);
+    }
+
+    @Override
+    public Mono<Boolean> reserveSeats(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks) {
+        return reactiveMongoTemplate.updateFirst(SeatUpdates.allSeatsFree(trainPrn, travelDate, seatMasks),
+                        SeatUpdates.bookSeats(seatMasks), TrainSeatInventory.class)
+                .map(result -> result.getModifiedCount() == 1);
+    }
+
+    @Override
+    public Mono<Boolean> releaseSeats(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks) {
+        return reactiveMongoTemplate.updateFirst(SeatUpdates.allSeatsBooked(trainPrn, travelDate, seatMasks),
+                        SeatUpdates.freeSeats(seatMasks), TrainSeatInventory.class)
+                .map(result -> result.getMatchedCount() == 1);
+    }
+
+    @Override
+    public Mono<Map<String, SeatAvailability>> findAvailability(Collection<String> trainPrns, LocalDate travelDate) {
+        if (trainPrns.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return reactiveMongoTemplate.find(SeatUpdates.availabilityOf(trainPrns, travelDate), TrainSeatInventory.class)
+                .collectMap(TrainSeatInventory::getTrainPrn, SeatUpdates::availability);
+    }
+
+    @Override
+    public Mono<Void> updateLargestFreeBlock(String trainPrn, LocalDate travelDate, int largestFreeBlock) {
+        return reactiveMongoTemplate.updateFirst(SeatUpdates.countedInventory(trainPrn, travelDate),
+                        SeatUpdates.largestFreeBlock(largestFreeBlock), TrainSeatInventory.class)
+                .then();
+    }
+}
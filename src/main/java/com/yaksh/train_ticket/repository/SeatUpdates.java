@@ -0,0 +1,117 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.config.SeatInventoryConverters;
+import com.yaksh.train_ticket.model.SeatAvailability;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queries and updates on seat inventory documents, shared by the blocking and reactive repositories.
+ * Seat words are addressed as "seats.words.&lt;index&gt;" so an update touches only the affected words.
+ */
+final class SeatUpdates {
+    private static final String FREE_SEATS = "freeSeats";
+    private static final String LARGEST_FREE_BLOCK = "largestFreeBlock";
+
+    private SeatUpdates() {
+    }
+
+    static Query byInventoryId(String trainPrn, LocalDate travelDate) {
+        return Query.query(Criteria.where("_id").is(TrainSeatInventory.inventoryId(trainPrn, travelDate.toString())));
+    }
+
+    static Query seatsOnly(String trainPrn, LocalDate travelDate) {
+        Query query = byInventoryId(trainPrn, travelDate);
+        query.fields().include("seats");
+        return query;
+    }
+
+    /**
+     * Matches the inventory only if every seat in the masks is still free.
+     */
+    static Query allSeatsFree(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks) {
+        Query query = byInventoryId(trainPrn, travelDate);
+        seatMasks.forEach((wordIndex, mask) -> query.addCriteria(Criteria.where(wordField(wordIndex)).bits().allClear(bitPositions(mask))));
+        return query;
+    }
+
+    /**
+     * Matches the inventory only if every seat in the masks is still booked, so releasing the same seats twice
+     * changes nothing the second time.
+     */
+    static Query allSeatsBooked(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks) {
+        Query query = byInventoryId(trainPrn, travelDate);
+        seatMasks.forEach((wordIndex, mask) -> query.addCriteria(Criteria.where(wordField(wordIndex)).bits().allSet(bitPositions(mask))));
+        return query;
+    }
+
+    static Update bookSeats(Map<Integer, Long> seatMasks) {
+        Update update = new Update();
+        seatMasks.forEach((wordIndex, mask) -> update.bitwise(wordField(wordIndex)).or(mask));
+        // Only the seats matched free by allSeatsFree are set, so the counter moves by exactly their number
+        return update.inc(FREE_SEATS, -seatCount(seatMasks));
+    }
+
+    static Update freeSeats(Map<Integer, Long> seatMasks) {
+        Update update = new Update();
+        seatMasks.forEach((wordIndex, mask) -> update.bitwise(wordField(wordIndex)).and(~mask));
+        // Only the seats matched booked by allSeatsBooked are cleared, so the counter moves by exactly their number
+        return update.inc(FREE_SEATS, seatCount(seatMasks));
+    }
+
+    /**
+     * Sets the longest free run of an inventory whose counters were already initialized; an inventory still
+     * waiting for its first count is left to the availability migration.
+     */
+    static Query countedInventory(String trainPrn, LocalDate travelDate) {
+        return byInventoryId(trainPrn, travelDate).addCriteria(Criteria.where(LARGEST_FREE_BLOCK).exists(true));
+    }
+
+    static Update largestFreeBlock(int largestFreeBlock) {
+        return new Update().set(LARGEST_FREE_BLOCK, largestFreeBlock);
+    }
+
+    /**
+     * Loads only the free seat counters of the given trains on a date.
+     */
+    static Query availabilityOf(Collection<String> trainPrns, LocalDate travelDate) {
+        List<String> inventoryIds = trainPrns.stream()
+                .map(trainPrn -> TrainSeatInventory.inventoryId(trainPrn, travelDate.toString()))
+                .toList();
+        Query query = Query.query(Criteria.where("_id").in(inventoryIds));
+        query.fields().include("trainPrn").include(FREE_SEATS).include(LARGEST_FREE_BLOCK);
+        return query;
+    }
+
+    static SeatAvailability availability(TrainSeatInventory inventory) {
+        return new SeatAvailability(inventory.getFreeSeats(), inventory.getLargestFreeBlock());
+    }
+
+    private static int seatCount(Map<Integer, Long> seatMasks) {
+        int seats = 0;
+        for (long mask : seatMasks.values()) {
+            seats += Long.bitCount(mask);
+        }
+        return seats;
+    }
+
+    private static String wordField(int wordIndex) {
+        return "seats." + SeatInventoryConverters.WORDS + "." + wordIndex;
+    }
+
+    private static List<Integer> bitPositions(long mask) {
+        List<Integer> positions = new ArrayList<>(Long.bitCount(mask));
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            positions.add(Long.numberOfTrailingZeros(bits));
+        }
+        return positions;
+    }
+}
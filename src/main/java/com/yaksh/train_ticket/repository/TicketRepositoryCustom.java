@@ -0,0 +1,49 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.Ticket;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Queries of the tickets of one user, served by the (userId, dateOfTravel, _id) index on the tickets collection.
+ * Both date bounds are optional and inclusive.
+ */
+public interface TicketRepositoryCustom {
+
+    /**
+     * Loads one page of a user's tickets ordered by date of travel, then ticket ID.
+     * The page continues after the given (date, ticket ID) position, so later pages cost the same as the first.
+     *
+     * @param userId The ID of the user.
+     * @param fromDate The earliest date of travel, or null.
+     * @param toDate The latest date of travel, or null.
+     * @param afterDate The date of travel of the last ticket of the previous page, or null for the first page.
+     * @param afterTicketId The ID of the last ticket of the previous page, or null for the first page.
+     * @param limit The maximum number of tickets to return.
+     * @return The tickets of the page.
+     */
+    List<Ticket> findTicketsOfUser(String userId, LocalDate fromDate, LocalDate toDate,
+                                   LocalDate afterDate, String afterTicketId, int limit);
+
+    /**
+     * Counts a user's tickets without loading them.
+     *
+     * @param userId The ID of the user.
+     * @param fromDate The earliest date of travel, or null.
+     * @param toDate The latest date of travel, or null.
+     * @return The number of tickets.
+     */
+    long countTicketsOfUser(String userId, LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Deletes a ticket only if it belongs to the user, in one operation.
+     * Of several concurrent calls for the same ticket, only one gets it back.
+     *
+     * @param ticketId The ID of the ticket.
+     * @param userId The ID of the user.
+     * @return The deleted ticket, or empty if there was no such ticket of the user.
+     */
+    Optional<Ticket> deleteTicketOfUser(String ticketId, String userId);
+}
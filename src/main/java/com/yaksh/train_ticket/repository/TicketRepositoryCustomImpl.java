@@ -0,0 +1,63 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.Ticket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MongoTemplate implementation of {@link TicketRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class TicketRepositoryCustomImpl implements TicketRepositoryCustom {
+    private static final String DATE_OF_TRAVEL = "dateOfTravel";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Ticket> findTicketsOfUser(String userId, LocalDate fromDate, LocalDate toDate,
+                                          LocalDate afterDate, String afterTicketId, int limit) {
+        Criteria criteria = ticketsOfUser(userId, fromDate, toDate);
+        if (afterDate != null && afterTicketId != null) {
+            // Keyset position: strictly after (afterDate, afterTicketId) in the sort order below
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where(DATE_OF_TRAVEL).gt(afterDate),
+                    Criteria.where(DATE_OF_TRAVEL).is(afterDate).and("_id").gt(afterTicketId)));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Order.asc(DATE_OF_TRAVEL), Sort.Order.asc("_id")))
+                .limit(limit);
+        return mongoTemplate.find(query, Ticket.class);
+    }
+
+    @Override
+    public long countTicketsOfUser(String userId, LocalDate fromDate, LocalDate toDate) {
+        return mongoTemplate.count(Query.query(ticketsOfUser(userId, fromDate, toDate)), Ticket.class);
+    }
+
+    private static Criteria ticketsOfUser(String userId, LocalDate fromDate, LocalDate toDate) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (fromDate != null || toDate != null) {
+            Criteria dateRange = criteria.and(DATE_OF_TRAVEL);
+            if (fromDate != null) {
+                dateRange.gte(fromDate);
+            }
+            if (toDate != null) {
+                dateRange.lte(toDate);
+            }
+        }
+        return criteria;
+    }
+
+    @Override
+    public Optional<Ticket> deleteTicketOfUser(String ticketId, String userId) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(
+                Query.query(Criteria.where("_id").is(ticketId).and("userId").is(userId)), Ticket.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.Train;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Projected reads of train documents that fetch only the parts a lookup needs.
+ */
+public interface TrainRepositoryCustom {
+
+    /**
+     * Loads a train with only the schedule of one date ("schedules.&lt;date&gt;"), leaving out every other day of its calendar.
+     *
+     * @param trainPrn The PRN of the train.
+     * @param travelDate The date of travel.
+     * @return The train holding at most the schedule of the given date, or empty if the train does not exist.
+     */
+    Optional<Train> findByIdWithScheduleOf(String trainPrn, LocalDate travelDate);
+
+    /**
+     * Loads several trains with only their name and the schedule of one date, the fields a search result is built from.
+     *
+     * @param trainPrns The PRNs of the trains.
+     * @param travelDate The date of travel.
+     * @return The trains that exist, each holding its name and at most the schedule of the given date.
+     */
+    List<Train> findAllByIdWithScheduleOf(Collection<String> trainPrns, LocalDate travelDate);
+
+    /**
+     * Loads several trains with only their name and the schedules of the given dates.
+     *
+     * @param trainPrns The PRNs of the trains.
+     * @param travelDates The dates of travel.
+     * @return The trains that exist, each holding at most the schedules of the given dates.
+     */
+    List<Train> findAllByIdWithSchedulesOf(Collection<String> trainPrns, Collection<LocalDate> travelDates);
+
+    /**
+     * Same projection as {@link #findAllByIdWithScheduleOf}, read one train at a time from the cursor.
+     * The stream holds the cursor open and must be closed.
+     *
+     * @param trainPrns The PRNs of the trains.
+     * @param travelDate The date of travel.
+     * @return The trains that exist, in no particular order.
+     */
+    Stream<Train> streamAllByIdWithScheduleOf(Collection<String> trainPrns, LocalDate travelDate);
+
+    /**
+     * Checks which of the given PRNs already exist, with one $in query that returns only the ids.
+     *
+     * @param trainPrns The PRNs to check.
+     * @return The PRNs that already have a train.
+     */
+    Set<String> findExistingPrns(Collection<String> trainPrns);
+}
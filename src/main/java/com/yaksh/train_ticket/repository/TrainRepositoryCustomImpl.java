@@ -0,0 +1,83 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.Train;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * MongoTemplate implementation of {@link TrainRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class TrainRepositoryCustomImpl implements TrainRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Train> findByIdWithScheduleOf(String trainPrn, LocalDate travelDate) {
+        Query query = Query.query(Criteria.where("_id").is(trainPrn));
+        query.fields().include("schedules." + travelDate);
+        return Optional.ofNullable(mongoTemplate.findOne(query, Train.class));
+    }
+
+    @Override
+    public List<Train> findAllByIdWithScheduleOf(Collection<String> trainPrns, LocalDate travelDate) {
+        if (trainPrns.isEmpty()) {
+            return List.of();
+        }
+        return mongoTemplate.find(scheduleOf(trainPrns, travelDate), Train.class);
+    }
+
+    @Override
+    public List<Train> findAllByIdWithSchedulesOf(Collection<String> trainPrns, Collection<LocalDate> travelDates) {
+        if (trainPrns.isEmpty() || travelDates.isEmpty()) {
+            return List.of();
+        }
+        return mongoTemplate.find(schedulesOf(trainPrns, travelDates), Train.class);
+    }
+
+    @Override
+    public Stream<Train> streamAllByIdWithScheduleOf(Collection<String> trainPrns, LocalDate travelDate) {
+        if (trainPrns.isEmpty()) {
+            return Stream.empty();
+        }
+        return mongoTemplate.stream(scheduleOf(trainPrns, travelDate), Train.class);
+    }
+
+    @Override
+    public Set<String> findExistingPrns(Collection<String> trainPrns) {
+        Set<String> existingPrns = new HashSet<>();
+        if (trainPrns.isEmpty()) {
+            return existingPrns;
+        }
+        Query query = Query.query(Criteria.where("_id").in(trainPrns));
+        query.fields().include("_id");
+        // Read raw documents so no train is mapped just to learn its id
+        mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Train.class))
+                .forEach(train -> existingPrns.add(train.get("_id").toString()));
+        return existingPrns;
+    }
+
+    /**
+     * Query for the name and one date's schedule of several trains; shared with the reactive repository.
+     */
+    static Query scheduleOf(Collection<String> trainPrns, LocalDate travelDate) {
+        return schedulesOf(trainPrns, List.of(travelDate));
+    }
+
+    private static Query schedulesOf(Collection<String> trainPrns, Collection<LocalDate> travelDates) {
+        Query query = Query.query(Criteria.where("_id").in(trainPrns));
+        query.fields().include("trainName");
+        travelDates.forEach(travelDate -> query.fields().include("schedules." + travelDate));
+        return query;
+    }
+}
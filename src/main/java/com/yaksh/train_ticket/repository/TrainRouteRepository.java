@@ -0,0 +1,10 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.TrainRoute;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository for the station-pair route index used by train search.
+ */
+public interface TrainRouteRepository extends MongoRepository<TrainRoute, String> {
+}
@@ -0,0 +1,10 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository for the per (train, travel date) seat inventories.
+ */
+public interface TrainSeatInventoryRepository extends MongoRepository<TrainSeatInventory, String>, TrainSeatInventoryRepositoryCustom {
+}
@@ -0,0 +1,65 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.SeatAvailability;
+import com.yaksh.train_ticket.model.SeatInventory;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Targeted seat updates on the seat inventory of one train on one travel date.
+ * Seat masks map the index of a packed seat word to the bits to set or clear in it.
+ * Booking and freeing seats also moves the inventory's free seat counter by the number of seats in the masks.
+ */
+public interface TrainSeatInventoryRepositoryCustom {
+
+    /**
+     * Loads only the seat layout of a train on a date, without the rest of the inventory document.
+     *
+     * @param trainPrn The PRN of the train.
+     * @param travelDate The date of travel.
+     * @return The seat layout, or empty if there is no inventory for the train and date.
+     */
+    Optional<SeatInventory> findSeats(String trainPrn, LocalDate travelDate);
+
+    /**
+     * Books the given seats with one conditional update that only matches if none of them is booked yet.
+     *
+     * @param trainPrn The PRN of the train.
+     * @param travelDate The date of travel.
+     * @param seatMasks Word index to bitmask of the seats to book.
+     * @return true if the seats were booked, false if at least one of them was already taken.
+     */
+    boolean reserveSeats(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks);
+
+    /**
+     * Frees the given seats with one conditional update that only matches if all of them are still booked,
+     * then clears only their bits.
+     *
+     * @param trainPrn The PRN of the train.
+     * @param travelDate The date of travel.
+     * @param seatMasks Word index to bitmask of the seats to free.
+     * @return true if the seats were freed, false if there is no inventory or at least one of them was already free.
+     */
+    boolean releaseSeats(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks);
+
+    /**
+     * Loads the free seat counters of several trains on a date with one query that skips the seat words.
+     *
+     * @param trainPrns The PRNs of the trains.
+     * @param travelDate The date of travel.
+     * @return Train PRN to its counters, for the trains that have an inventory on the date.
+     */
+    Map<String, SeatAvailability> findAvailability(Collection<String> trainPrns, LocalDate travelDate);
+
+    /**
+     * Stores the longest run of contiguous free seats after a booking or cancellation changed it.
+     *
+     * @param trainPrn The PRN of the train.
+     * @param travelDate The date of travel.
+     * @param largestFreeBlock The longest run of free seats.
+     */
+    void updateLargestFreeBlock(String trainPrn, LocalDate travelDate, int largestFreeBlock);
+}
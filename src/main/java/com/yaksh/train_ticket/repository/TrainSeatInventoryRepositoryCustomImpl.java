@@ -0,0 +1,58 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.SeatAvailability;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * MongoTemplate implementation of {@link TrainSeatInventoryRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class TrainSeatInventoryRepositoryCustomImpl implements TrainSeatInventoryRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<SeatInventory> findSeats(String trainPrn, LocalDate travelDate) {
+        return Optional.ofNullable(mongoTemplate.findOne(SeatUpdates.seatsOnly(trainPrn, travelDate), TrainSeatInventory.class))
+                .map(TrainSeatInventory::getSeats);
+    }
+
+    @Override
+    public boolean reserveSeats(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks) {
+        // Only match if every requested seat is still free, then set their bits in the same operation
+        return mongoTemplate.updateFirst(SeatUpdates.allSeatsFree(trainPrn, travelDate, seatMasks),
+                SeatUpdates.bookSeats(seatMasks), TrainSeatInventory.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean releaseSeats(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks) {
+        // Only match if every seat is still booked, so a repeated release cannot free seats booked since
+        return mongoTemplate.updateFirst(SeatUpdates.allSeatsBooked(trainPrn, travelDate, seatMasks),
+                SeatUpdates.freeSeats(seatMasks), TrainSeatInventory.class).getMatchedCount() == 1;
+    }
+
+    @Override
+    public Map<String, SeatAvailability> findAvailability(Collection<String> trainPrns, LocalDate travelDate) {
+        Map<String, SeatAvailability> availability = new HashMap<>();
+        if (trainPrns.isEmpty()) {
+            return availability;
+        }
+        mongoTemplate.find(SeatUpdates.availabilityOf(trainPrns, travelDate), TrainSeatInventory.class)
+                .forEach(inventory -> availability.put(inventory.getTrainPrn(), SeatUpdates.availability(inventory)));
+        return availability;
+    }
+
+    @Override
+    public void updateLargestFreeBlock(String trainPrn, LocalDate travelDate, int largestFreeBlock) {
+        mongoTemplate.updateFirst(SeatUpdates.countedInventory(trainPrn, travelDate),
+                SeatUpdates.largestFreeBlock(largestFreeBlock), TrainSeatInventory.class);
+    }
+}
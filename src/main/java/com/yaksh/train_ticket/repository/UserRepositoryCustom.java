@@ -0,0 +1,16 @@
+package com.yaksh.train_ticket.repository;
+
+/**
+ * Targeted updates of single user fields, so concurrent requests of the same user
+ * never overwrite each other's changes with a whole document save.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Replaces the stored password hash ($set), e.g. after the BCrypt work factor changed.
+     *
+     * @param userId the ID of the user.
+     * @param hashedPassword the new hash.
+     */
+    void updateHashedPassword(String userId, String hashedPassword);
+}
@@ -0,0 +1,25 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * MongoTemplate implementation of {@link UserRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void updateHashedPassword(String userId, String hashedPassword) {
+        mongoTemplate.updateFirst(byUserId(userId), new Update().set("hashedPassword", hashedPassword), User.class);
+    }
+
+    private static Query byUserId(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+}
@@ -12,7 +12,7 @@ import java.util.Optional;
  * It provides built-in methods for interacting with the database and custom query methods as needed.
  */
 @Repository
-public interface UserRepositoryV2 extends MongoRepository<User, String> {
+public interface UserRepositoryV2 extends MongoRepository<User, String>, UserRepositoryCustom {
 
     /**
      * Finds a User entity based on the provided email address.
@@ -0,0 +1,31 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.model.Ticket;
+import com.yaksh.train_ticket.model.Train;
+
+import java.time.LocalDate;
+
+/**
+ * Groups concurrent bookings of the same train and date into batches that are allocated and written together,
+ * so a burst of bookings (e.g. when Tatkal opens) costs one seat update per batch instead of one per booking.
+ */
+public interface BookingCoalescer {
+
+    /**
+     * @return true if bookings should go through the coalescer.
+     */
+    boolean isEnabled();
+
+    /**
+     * Adds a booking to the open batch of its train and date and waits until the batch is written.
+     *
+     * @param userId                  The ID of the user.
+     * @param train                   The train, already checked to serve the source and destination on the date.
+     * @param source                  The source station.
+     * @param destination             The destination station.
+     * @param dateOfTravel            The date of travel.
+     * @param numberOfSeatsToBeBooked The number of seats to book.
+     * @return The booked ticket.
+     */
+    Ticket book(String userId, Train train, String source, String destination, LocalDate dateOfTravel, int numberOfSeatsToBeBooked);
+}
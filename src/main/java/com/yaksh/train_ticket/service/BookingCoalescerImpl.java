@@ -0,0 +1,263 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.model.Ticket;
+import com.yaksh.train_ticket.model.Train;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micro-batching of bookings per (train, date).
+ *
+ * The first booking of a train and date opens a batch; bookings arriving within the batch window join it.
+ * The batch is written when the window ends or as soon as it is full: seats are picked for every booking in
+ * one pass over the date's inventory, then {@link BookingCommitService} books them with one conditional update
+ * and inserts all the tickets with one bulk insert. Each caller then gets its own ticket, or its own error when
+ * the train had no seats left for it.
+ */
+@Service
+@Slf4j
+public class BookingCoalescerImpl implements BookingCoalescer {
+    private final TrainService trainService;
+    private final TicketService ticketService;
+    private final BookingCommitService bookingCommitService;
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final ScheduledExecutorService flushExecutor;
+    private final DistributionSummary batchSizes;
+
+    // Batch still accepting bookings, per train and date
+    private final Map<String, Batch> openBatches = new ConcurrentHashMap<>();
+
+    public BookingCoalescerImpl(TrainService trainService,
+                                TicketService ticketService,
+                                BookingCommitService bookingCommitService,
+                                MeterRegistry meterRegistry,
+                                @Value("${booking.batch.enabled:false}") boolean enabled,
+                                @Value("${booking.batch.window:5ms}") Duration window,
+                                @Value("${booking.batch.max-size:64}") int maxBatchSize,
+                                @Value("${booking.batch.threads:4}") int threads,
+                                @Value("${booking.batch.timeout:10s}") Duration timeout) {
+        this.trainService = trainService;
+        this.ticketService = ticketService;
+        this.bookingCommitService = bookingCommitService;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.flushExecutor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "booking-batch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSizes = DistributionSummary.builder("booking.batch.size").register(meterRegistry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Ticket book(String userId, Train train, String source, String destination, LocalDate dateOfTravel, int numberOfSeatsToBeBooked) {
+        // Rejected before joining a batch, where an invalid request would fail every booking written with it
+        if (numberOfSeatsToBeBooked < 1) {
+            throw new CustomException("Number of seats must be at least 1", ResponseStatus.INVALID_DATA);
+        }
+        PendingBooking booking = new PendingBooking(userId, source, destination, numberOfSeatsToBeBooked);
+        String batchKey = train.getPrn() + "|" + dateOfTravel;
+
+        Batch[] fullBatch = new Batch[1];
+        openBatches.compute(batchKey, (key, open) -> {
+            Batch batch = open != null ? open : new Batch(train, dateOfTravel);
+            batch.bookings.add(booking);
+            if (batch.bookings.size() >= maxBatchSize) {
+                // Full: close it now instead of waiting for the window
+                fullBatch[0] = batch;
+                return null;
+            }
+            if (open == null) {
+                flushExecutor.schedule(() -> flushWhenWindowEnds(key, batch), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            return batch;
+        });
+        if (fullBatch[0] != null) {
+            flushExecutor.execute(() -> flush(fullBatch[0]));
+        }
+
+        try {
+            return booking.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Booking batch of train {} on {} did not finish within {}", train.getPrn(), dateOfTravel, timeout);
+            return withdraw(booking);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            withdraw(booking);
+            throw new CustomException(ResponseStatus.SERVICE_BUSY);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Cancels a booking its caller stopped waiting for. The batch skips it if it has not been written yet,
+     * or undoes it if it is being written; a booking that was completed just before is returned as it is.
+     */
+    private Ticket withdraw(PendingBooking booking) {
+        if (booking.result.cancel(false)) {
+            throw new CustomException(ResponseStatus.SERVICE_BUSY);
+        }
+        try {
+            return booking.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(ResponseStatus.SERVICE_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdownNow();
+    }
+
+    private void flushWhenWindowEnds(String batchKey, Batch batch) {
+        // A batch that filled up was already removed and flushed
+        if (openBatches.remove(batchKey, batch)) {
+            flush(batch);
+        }
+    }
+
+    private void flush(Batch batch) {
+        // Bookings whose callers gave up waiting are not written
+        List<PendingBooking> bookings = batch.bookings.stream().filter(booking -> !booking.result.isDone()).toList();
+        if (bookings.isEmpty()) {
+            return;
+        }
+        Train train = batch.train;
+        LocalDate dateOfTravel = batch.dateOfTravel;
+        batchSizes.record(bookings.size());
+
+        List<Ticket> tickets;
+        try {
+            tickets = trainService.reserveSeatsForBookings(train, bookings.stream().map(PendingBooking::getNumberOfSeats).toList(), dateOfTravel,
+                    (seatMasks, allocations) -> {
+                        // One ticket per served booking, null for the others
+                        List<Ticket> batchTickets = new ArrayList<>(bookings.size());
+                        List<Ticket> newTickets = new ArrayList<>(bookings.size());
+                        for (int i = 0; i < bookings.size(); i++) {
+                            Ticket ticket = allocations.get(i) == null ? null : newTicket(bookings.get(i), train, dateOfTravel, allocations.get(i));
+                            batchTickets.add(ticket);
+                            if (ticket != null) {
+                                newTickets.add(ticket);
+                            }
+                        }
+                        return newTickets.isEmpty() || bookingCommitService.commit(train.getPrn(), dateOfTravel, seatMasks, newTickets)
+                                ? Optional.of(batchTickets)
+                                : Optional.empty();
+                    });
+        } catch (RuntimeException e) {
+            bookings.forEach(booking -> booking.result.completeExceptionally(e));
+            return;
+        }
+
+        for (int i = 0; i < bookings.size(); i++) {
+            Ticket ticket = tickets.get(i);
+            if (ticket == null) {
+                bookings.get(i).result.completeExceptionally(new CustomException("Not enough seats available", ResponseStatus.NOT_ENOUGH_SEATS));
+            } else if (!bookings.get(i).result.complete(ticket)) {
+                // The caller was already told the booking failed
+                undo(ticket, train, dateOfTravel);
+            }
+        }
+        log.info("Booked {} tickets in train {} on {} in one batch", tickets.stream().filter(Objects::nonNull).count(), train.getPrn(), dateOfTravel);
+    }
+
+    /**
+     * Deletes the ticket of a withdrawn booking and frees its seats.
+     */
+    private void undo(Ticket ticket, Train train, LocalDate dateOfTravel) {
+        log.warn("Booking of ticket {} was withdrawn while its batch was written, undoing it", ticket.getTicketId());
+        try {
+            ticketService.deleteTicketById(ticket.getTicketId());
+            trainService.freeTheBookedSeats(ticket.getBookedSeatsIndex(), train, dateOfTravel);
+        } catch (RuntimeException e) {
+            log.error("Could not undo withdrawn booking of ticket {}: {}", ticket.getTicketId(), e.getMessage(), e);
+        }
+    }
+
+    private Ticket newTicket(PendingBooking booking, Train train, LocalDate dateOfTravel, List<List<Integer>> seats) {
+        return ticketService.buildTicket(
+                booking.userId,
+                train.getPrn(),
+                dateOfTravel,
+                booking.source,
+                booking.destination,
+                seats,
+                trainService.getArrivalAtSourceTime(train, booking.source, dateOfTravel),
+                trainService.getArrivalAtSourceTime(train, booking.destination, dateOfTravel)
+        );
+    }
+
+    /**
+     * Bookings of one train and date collected during one window.
+     */
+    private static final class Batch {
+        private final Train train;
+        private final LocalDate dateOfTravel;
+        private final List<PendingBooking> bookings = new ArrayList<>();
+
+        private Batch(Train train, LocalDate dateOfTravel) {
+            this.train = train;
+            this.dateOfTravel = dateOfTravel;
+        }
+    }
+
+    /**
+     * One caller's booking, completed with its ticket once its batch is written.
+     */
+    private static final class PendingBooking {
+        private final String userId;
+        private final String source;
+        private final String destination;
+        private final int numberOfSeats;
+        private final CompletableFuture<Ticket> result = new CompletableFuture<>();
+
+        private PendingBooking(String userId, String source, String destination, int numberOfSeats) {
+            this.userId = userId;
+            this.source = source;
+            this.destination = destination;
+            this.numberOfSeats = numberOfSeats;
+        }
+
+        private int getNumberOfSeats() {
+            return numberOfSeats;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.model.Ticket;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a booking as one unit: the conditional seat update and the ticket insert either both happen or neither does.
+ */
+public interface BookingCommitService {
+
+    /**
+     * Books the seats and inserts the tickets booked on them.
+     *
+     * @param trainPrn   The PRN of the train.
+     * @param travelDate The date of travel.
+     * @param seatMasks  Word index to bitmask of the seats of all the tickets.
+     * @param tickets    The new tickets.
+     * @return true if the booking was written, false if another booking took any of the seats first and nothing was written.
+     */
+    boolean commit(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks, List<Ticket> tickets);
+}
@@ -0,0 +1,98 @@
+package com.yaksh.train_ticket.service;
+
+import com.mongodb.MongoException;
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.model.Ticket;
+import com.yaksh.train_ticket.repository.TicketRepositoryV2;
+import com.yaksh.train_ticket.repository.TrainSeatInventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A booking is written with two small commands and never rewrites a whole document: one conditional update of
+ * the date's seat words and one insert of the tickets. Tickets carry their user ID, so the user document is not touched.
+ *
+ * With booking.commit.transactions=true (needs a replica set) the seat update and the ticket insert run in one
+ * multi-document transaction. Otherwise the conditional seat update goes first and is undone if the ticket insert
+ * fails.
+ */
+@Service
+@Slf4j
+public class BookingCommitServiceImpl implements BookingCommitService {
+    private final TrainSeatInventoryRepository trainSeatInventoryRepository;
+    private final TicketRepositoryV2 ticketRepositoryV2;
+    private final TransactionTemplate transactionTemplate; // null when transactions are off
+
+    public BookingCommitServiceImpl(TrainSeatInventoryRepository trainSeatInventoryRepository,
+                                    TicketRepositoryV2 ticketRepositoryV2,
+                                    ObjectProvider<MongoTransactionManager> transactionManager) {
+        this.trainSeatInventoryRepository = trainSeatInventoryRepository;
+        this.ticketRepositoryV2 = ticketRepositoryV2;
+        MongoTransactionManager manager = transactionManager.getIfAvailable();
+        this.transactionTemplate = manager == null ? null : new TransactionTemplate(manager);
+    }
+
+    @Override
+    public boolean commit(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks, List<Ticket> tickets) {
+        return transactionTemplate != null
+                ? commitInTransaction(trainPrn, travelDate, seatMasks, tickets)
+                : commitWithCompensation(trainPrn, travelDate, seatMasks, tickets);
+    }
+
+    private boolean commitInTransaction(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks, List<Ticket> tickets) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (!trainSeatInventoryRepository.reserveSeats(trainPrn, travelDate, seatMasks)) {
+                    return false;
+                }
+                ticketRepositoryV2.insert(tickets);
+                return true;
+            }));
+        } catch (DataAccessException e) {
+            // A concurrent transaction on the same seat inventory: nothing was written, pick again
+            if (e.getMostSpecificCause() instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                log.warn("Booking transaction on train {} on {} conflicted: {}", trainPrn, travelDate, e.getMessage());
+                return false;
+            }
+            log.error("Error while booking ticket: {}", e.getMessage(), e);
+            throw new CustomException("Error while booking ticket: " + e.getMessage(), ResponseStatus.TICKET_NOT_BOOKED);
+        }
+    }
+
+    private boolean commitWithCompensation(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks, List<Ticket> tickets) {
+        if (!trainSeatInventoryRepository.reserveSeats(trainPrn, travelDate, seatMasks)) {
+            return false;
+        }
+        try {
+            ticketRepositoryV2.insert(tickets);
+            return true;
+        } catch (Exception e) {
+            log.error("Error while booking ticket: {}", e.getMessage(), e);
+            undo(trainPrn, travelDate, seatMasks, tickets);
+            throw new CustomException("Error while booking ticket: " + e.getMessage(), ResponseStatus.TICKET_NOT_BOOKED);
+        }
+    }
+
+    /**
+     * Gives back the seats of a booking whose tickets could not be inserted, and removes any ticket that was.
+     */
+    private void undo(String trainPrn, LocalDate travelDate, Map<Integer, Long> seatMasks, List<Ticket> tickets) {
+        try {
+            ticketRepositoryV2.deleteAll(tickets);
+            trainSeatInventoryRepository.releaseSeats(trainPrn, travelDate, seatMasks);
+            log.info("Released the seats of the failed booking in train {} on {}", trainPrn, travelDate);
+        } catch (Exception e) {
+            log.error("Could not release seats {} of train {} on {}: {}", seatMasks, trainPrn, travelDate, e.getMessage(), e);
+        }
+    }
+}
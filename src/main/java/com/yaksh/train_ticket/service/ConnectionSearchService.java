@@ -0,0 +1,34 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+import com.yaksh.train_ticket.model.Train;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Journey search with up to one change, answered from an in-memory timetable of every train schedule.
+ */
+public interface ConnectionSearchService {
+
+    /**
+     * Adds the runs of new trains to the timetable, or replaces the runs of updated ones.
+     * @param trains The trains, with all of their schedules.
+     */
+    void indexTrains(List<Train> trains);
+
+    /**
+     * Finds the journeys from a source to a destination leaving on the travel date, direct or with one change.
+     * @param source The source station.
+     * @param destination The destination station.
+     * @param travelDate The date of travel of the first train.
+     * @param maxResults The maximum number of journeys returned, or null for the default.
+     * @return ResponseDataDTO containing the journeys, earliest arrival first.
+     */
+    ResponseDataDTO searchConnections(String source, String destination, LocalDate travelDate, Integer maxResults);
+
+    /**
+     * Rebuilds the whole timetable from the trains collection.
+     */
+    void rebuildTimetable();
+}
@@ -0,0 +1,158 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.ConnectionDTO;
+import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+import com.yaksh.train_ticket.DTO.TrainSummaryDTO;
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.model.ConnectionTimetable;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.util.StationNames;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Connection search over a {@link ConnectionTimetable} built on startup and kept current by the train
+ * writes of this instance. Trains written through other instances are picked up by rebuilding the timetable
+ * every connection.search.refresh-interval. Searches read the current timetable without locking; updates replace it.
+ */
+@Service
+@Slf4j
+public class ConnectionSearchServiceImpl implements ConnectionSearchService {
+    private static final int DEFAULT_MAX_RESULTS = 10;
+    private static final int MAX_RESULTS_LIMIT = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration minTransfer;
+    private final Duration maxTransfer;
+    private final Duration refreshInterval;
+    private final ScheduledExecutorService refreshExecutor;
+
+    private volatile ConnectionTimetable timetable = ConnectionTimetable.empty();
+
+    public ConnectionSearchServiceImpl(MongoTemplate mongoTemplate,
+                                       @Value("${connection.search.min-transfer:20m}") Duration minTransfer,
+                                       @Value("${connection.search.max-transfer:6h}") Duration maxTransfer,
+                                       @Value("${connection.search.refresh-interval:5m}") Duration refreshInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.minTransfer = minTransfer;
+        this.maxTransfer = maxTransfer;
+        this.refreshInterval = refreshInterval;
+        this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-timetable-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Builds the timetable once the application is up, then rebuilds it periodically (unless the interval is zero).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeTimetable() {
+        rebuildTimetable();
+        if (!refreshInterval.isZero()) {
+            refreshExecutor.scheduleWithFixedDelay(this::refreshTimetable,
+                    refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    public synchronized void rebuildTimetable() {
+        // Only names and schedules are needed
+        Query query = new Query();
+        query.fields().include("trainName").include("schedules");
+        try (Stream<Train> trains = mongoTemplate.stream(query, Train.class)) {
+            timetable = ConnectionTimetable.of(trains.toList());
+        }
+        log.info("Connection timetable built with {} trains at {} stations", timetable.trainCount(), timetable.stationCount());
+    }
+
+    private void refreshTimetable() {
+        try {
+            rebuildTimetable();
+        } catch (RuntimeException e) {
+            // Keep the current timetable and try again on the next run
+            log.warn("Could not refresh the connection timetable: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void indexTrains(List<Train> trains) {
+        if (trains.isEmpty()) {
+            return;
+        }
+        timetable = timetable.withTrains(trains);
+    }
+
+    @Override
+    public ResponseDataDTO searchConnections(String source, String destination, LocalDate travelDate, Integer maxResults) {
+        log.info("Searching connections from {} to {} on {}", source, destination, travelDate);
+        int limit = maxResults == null ? DEFAULT_MAX_RESULTS : maxResults;
+        if (limit < 1 || limit > MAX_RESULTS_LIMIT) {
+            throw new CustomException(String.format("Max results must be between 1 and %d", MAX_RESULTS_LIMIT),
+                    ResponseStatus.INVALID_DATA);
+        }
+        String canonicalSource = StationNames.canonical(source);
+        String canonicalDestination = StationNames.canonical(destination);
+        if (canonicalSource.equals(canonicalDestination)) {
+            throw new CustomException("Source and destination must be different stations", ResponseStatus.INVALID_DATA);
+        }
+
+        List<ConnectionTimetable.Journey> journeys = timetable.findJourneys(
+                canonicalSource, canonicalDestination, travelDate, minTransfer, maxTransfer);
+        List<ConnectionDTO> connections = journeys.stream()
+                .limit(limit)
+                .map(ConnectionSearchServiceImpl::toConnection)
+                .toList();
+
+        log.info("Found {} connections from {} to {}", journeys.size(), source, destination);
+        Map<String, Object> result = Map.of(
+                "totalConnections", journeys.size(),
+                "connections", connections
+        );
+        return new ResponseDataDTO(true, "Connections fetched", result);
+    }
+
+    private static ConnectionDTO toConnection(ConnectionTimetable.Journey journey) {
+        List<TrainSummaryDTO> legs = journey.getLegs().stream()
+                .map(leg -> TrainSummaryDTO.builder()
+                        .prn(leg.getTrainPrn())
+                        .trainName(leg.getTrainName())
+                        .travelDate(leg.getTravelDate())
+                        .source(leg.getSource())
+                        .destination(leg.getDestination())
+                        .departureTime(leg.getDepartureTime())
+                        .arrivalTime(leg.getArrivalTime())
+                        .durationMinutes(Duration.between(leg.getDepartureTime(), leg.getArrivalTime()).toMinutes())
+                        .build())
+                .toList();
+        return ConnectionDTO.builder()
+                .departureTime(journey.getDepartureTime())
+                .arrivalTime(journey.getArrivalTime())
+                .durationMinutes(Duration.between(journey.getDepartureTime(), journey.getArrivalTime()).toMinutes())
+                .changes(journey.getChanges())
+                .legs(legs)
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.IndexReportDTO;
+
+/**
+ * Keeps the MongoDB indexes declared in {@link com.yaksh.train_ticket.repository.IndexRegistry} in place
+ * and reports how well the repository queries are served by them.
+ */
+public interface DatabaseIndexService {
+
+    /**
+     * Creates every registered index that does not exist yet. Existing indexes are left alone,
+     * so this is safe to run on every startup and on every node.
+     */
+    void ensureIndexes();
+
+    /**
+     * Lists missing and unused indexes and explains every registered query, flagging collection scans.
+     *
+     * @return The index report.
+     */
+    IndexReportDTO report();
+}
@@ -0,0 +1,167 @@
+package com.yaksh.train_ticket.service;
+
+import com.mongodb.client.FindIterable;
+import com.yaksh.train_ticket.DTO.IndexReportDTO;
+import com.yaksh.train_ticket.repository.IndexRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Index usage comes from $indexStats, whose counters start at zero when the server starts, and query plans
+ * from explain with the default queryPlanner verbosity, which plans a query without running it.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DatabaseIndexServiceImpl implements DatabaseIndexService {
+    private static final String COLLECTION_SCAN = "COLLSCAN";
+    private static final String ID_INDEX = "_id_";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Creates the registered indexes once the application is up, then logs every index that is still missing
+     * and every registered query that would scan its whole collection.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyIndexes() {
+        ensureIndexes();
+        IndexReportDTO report;
+        try {
+            report = report();
+        } catch (Exception e) {
+            // e.g. no privilege to run $indexStats; the application still starts
+            log.warn("Could not report on database indexes: {}", e.getMessage());
+            return;
+        }
+        report.getRequiredIndexes().stream()
+                .filter(index -> !index.isPresent())
+                .forEach(index -> log.warn("Index {} on {} is missing", index.getKeys(), index.getCollection()));
+        report.getQueryPlans().stream()
+                .filter(IndexReportDTO.QueryPlan::isCollectionScan)
+                .forEach(plan -> log.warn("Query {} scans the whole {} collection", plan.getQuery(), plan.getCollection()));
+    }
+
+    @Override
+    public void ensureIndexes() {
+        for (IndexRegistry.RequiredIndex required : IndexRegistry.REQUIRED_INDEXES) {
+            try {
+                mongoTemplate.indexOps(required.getEntityClass()).ensureIndex(required.getIndex());
+            } catch (Exception e) {
+                // e.g. duplicate emails prevent the unique email index; the report keeps showing it as missing
+                log.error("Could not create index {} on {}: {}", required.getIndex().getIndexKeys().toJson(),
+                        mongoTemplate.getCollectionName(required.getEntityClass()), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public IndexReportDTO report() {
+        Map<String, List<Document>> indexStats = new LinkedHashMap<>();
+        IndexRegistry.REQUIRED_INDEXES.forEach(required -> indexStats.computeIfAbsent(
+                mongoTemplate.getCollectionName(required.getEntityClass()), this::indexStats));
+        IndexRegistry.QUERIES.forEach(query -> indexStats.computeIfAbsent(
+                mongoTemplate.getCollectionName(query.getEntityClass()), this::indexStats));
+
+        List<IndexReportDTO.RequiredIndex> requiredIndexes = new ArrayList<>();
+        for (IndexRegistry.RequiredIndex required : IndexRegistry.REQUIRED_INDEXES) {
+            String collection = mongoTemplate.getCollectionName(required.getEntityClass());
+            Document keys = required.getIndex().getIndexKeys();
+            boolean present = indexStats.get(collection).stream().anyMatch(stats -> sameKeys(keys, stats.get("key", Document.class)));
+            requiredIndexes.add(new IndexReportDTO.RequiredIndex(collection, keys.toJson(),
+                    required.getIndex().getIndexOptions().getBoolean("unique", false), required.getUsedBy(), present));
+        }
+
+        List<IndexReportDTO.ExistingIndex> existingIndexes = new ArrayList<>();
+        indexStats.forEach((collection, stats) -> stats.forEach(index -> {
+            String name = index.getString("name");
+            Document keys = index.get("key", Document.class);
+            long accesses = ((Number) index.get("accesses", Document.class).get("ops")).longValue();
+            boolean required = ID_INDEX.equals(name) || IndexRegistry.REQUIRED_INDEXES.stream()
+                    .anyMatch(r -> collection.equals(mongoTemplate.getCollectionName(r.getEntityClass()))
+                            && sameKeys(r.getIndex().getIndexKeys(), keys));
+            existingIndexes.add(new IndexReportDTO.ExistingIndex(collection, name, keys.toJson(), accesses,
+                    required, !required && accesses == 0));
+        }));
+
+        List<IndexReportDTO.QueryPlan> queryPlans = IndexRegistry.QUERIES.stream().map(this::explain).toList();
+
+        return IndexReportDTO.builder()
+                .requiredIndexes(requiredIndexes)
+                .existingIndexes(existingIndexes)
+                .queryPlans(queryPlans)
+                .missingIndexes(requiredIndexes.stream().filter(index -> !index.isPresent()).count())
+                .collectionScans(queryPlans.stream().filter(IndexReportDTO.QueryPlan::isCollectionScan).count())
+                .build();
+    }
+
+    private List<Document> indexStats(String collection) {
+        return mongoTemplate.getCollection(collection)
+                .aggregate(List.of(new Document("$indexStats", new Document())))
+                .into(new ArrayList<>());
+    }
+
+    /**
+     * Explains a registered query as the repository would send it, with field names and values mapped
+     * the same way (e.g. LocalDate to a BSON date).
+     */
+    private IndexReportDTO.QueryPlan explain(IndexRegistry.RegisteredQuery registered) {
+        String collection = mongoTemplate.getCollectionName(registered.getEntityClass());
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getPersistentEntity(registered.getEntityClass());
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        Query query = registered.getQuery();
+
+        FindIterable<Document> find = mongoTemplate.getCollection(collection)
+                .find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+                .sort(queryMapper.getMappedSort(query.getSortObject(), entity));
+        if (query.getLimit() > 0) {
+            find.limit(query.getLimit());
+        }
+        Document queryPlanner = find.explain().get("queryPlanner", Document.class);
+
+        List<String> stages = new ArrayList<>();
+        collectStages(queryPlanner.get("winningPlan"), stages);
+        return new IndexReportDTO.QueryPlan(registered.getName(), collection, stages, stages.contains(COLLECTION_SCAN));
+    }
+
+    /**
+     * Walks a plan tree depth first. Stages nest under inputStage / inputStages, and under queryPlan when the
+     * slot based engine ran the query.
+     */
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage != null) {
+                stages.add(stage.toString());
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    /**
+     * Index keys are equal if they name the same fields in the same order with the same directions.
+     */
+    private static boolean sameKeys(Document expected, Document actual) {
+        if (actual == null || !new ArrayList<>(expected.keySet()).equals(new ArrayList<>(actual.keySet()))) {
+            return false;
+        }
+        return expected.keySet().stream().allMatch(field -> direction(expected.get(field)).equals(direction(actual.get(field))));
+    }
+
+    private static String direction(Object value) {
+        return value instanceof Number number ? String.valueOf(number.intValue()) : String.valueOf(value);
+    }
+}
@@ -0,0 +1,24 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs requests carrying an Idempotency-Key at most once per user and key, answering retries with the stored result.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Runs the request unless it already ran with the same key. A duplicate that arrives while the first request is
+     * still running on this node waits for its result. Failed requests are not remembered, so they can be retried
+     * with the same key.
+     *
+     * @param userId             The ID of the user sending the request.
+     * @param idempotencyKey     The client generated key; the request just runs when it is null or blank.
+     * @param requestFingerprint The parameters of the request, used to reject a key reused for another request.
+     * @param request            The request to run.
+     * @return The result of the request, or the stored result of its first run.
+     */
+    ResponseDataDTO execute(String userId, String idempotencyKey, String requestFingerprint, Supplier<ResponseDataDTO> request);
+}
@@ -0,0 +1,220 @@
+package com.yaksh.train_ticket.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.model.IdempotencyRecord;
+import com.yaksh.train_ticket.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency store in two tiers: a bounded, expiring Caffeine map of in-flight and finished requests on this node,
+ * so concurrent duplicates share one run, and the "idempotency_keys" collection with a TTL index, so a retry that
+ * lands on another node is answered from the stored result as well.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Cache<String, InFlightRequest> requests;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  MongoTemplate mongoTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${idempotency.cache.maximum-size:100000}") long maximumSize,
+                                  @Value("${idempotency.ttl:24h}") Duration ttl,
+                                  @Value("${idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.requests = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, requests, "idempotency");
+    }
+
+    /**
+     * Creates the TTL index that lets MongoDB drop records once they are older than the idempotency TTL.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureTtlIndex() {
+        try {
+            mongoTemplate.indexOps(IdempotencyRecord.class)
+                    .ensureIndex(new Index().on("createdAt", Sort.Direction.ASC).expire(ttl));
+        } catch (Exception e) {
+            // An index created with another TTL has to be dropped by hand
+            log.warn("Could not create the idempotency TTL index: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public ResponseDataDTO execute(String userId, String idempotencyKey, String requestFingerprint, Supplier<ResponseDataDTO> request) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return request.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new CustomException("Idempotency-Key must not be longer than " + MAX_KEY_LENGTH + " characters", ResponseStatus.INVALID_DATA);
+        }
+
+        String recordId = IdempotencyRecord.recordId(userId, idempotencyKey);
+        InFlightRequest mine = new InFlightRequest(requestFingerprint);
+        InFlightRequest existing = requests.asMap().putIfAbsent(recordId, mine);
+        if (existing != null) {
+            checkSameRequest(existing.requestFingerprint, requestFingerprint);
+            log.info("Duplicate request with Idempotency-Key {} of user {}, answering with the first result", idempotencyKey, userId);
+            return awaitResult(existing.result);
+        }
+
+        try {
+            ResponseDataDTO response = runOnce(recordId, userId, requestFingerprint, request);
+            mine.result.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            // Failures are not remembered, a retry with the same key runs again
+            requests.asMap().remove(recordId, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Claims the key in MongoDB and runs the request, or returns the result stored by an earlier run on any node.
+     */
+    private ResponseDataDTO runOnce(String recordId, String userId, String requestFingerprint, Supplier<ResponseDataDTO> request) {
+        Optional<IdempotencyRecord> stored = claim(recordId, userId, requestFingerprint);
+        if (stored.isPresent()) {
+            log.info("Request {} already completed, answering from the idempotency store", recordId);
+            return stored.get().getResponse();
+        }
+
+        ResponseDataDTO response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            idempotencyRecordRepository.deleteById(recordId);
+            throw e;
+        }
+
+        IdempotencyRecord completed = IdempotencyRecord.builder()
+                .recordId(recordId)
+                .userId(userId)
+                .requestFingerprint(requestFingerprint)
+                .completed(true)
+                .response(response)
+                .createdAt(Instant.now())
+                .build();
+        try {
+            idempotencyRecordRepository.save(completed);
+        } catch (Exception e) {
+            // The request did succeed; only retries on other nodes are not covered
+            log.error("Could not store the result of request {}: {}", recordId, e.getMessage(), e);
+        }
+        return response;
+    }
+
+    /**
+     * Inserts a pending record for the key.
+     *
+     * @return The completed record of an earlier run, or empty if the key was claimed for this run.
+     */
+    private Optional<IdempotencyRecord> claim(String recordId, String userId, String requestFingerprint) {
+        IdempotencyRecord pending = IdempotencyRecord.builder()
+                .recordId(recordId)
+                .userId(userId)
+                .requestFingerprint(requestFingerprint)
+                .completed(false)
+                .createdAt(Instant.now())
+                .build();
+        try {
+            idempotencyRecordRepository.insert(pending);
+            return Optional.empty();
+        } catch (DuplicateKeyException e) {
+            IdempotencyRecord existing = idempotencyRecordRepository.findById(recordId)
+                    .orElseThrow(() -> new CustomException(ResponseStatus.IDEMPOTENCY_KEY_IN_PROGRESS));
+            checkSameRequest(existing.getRequestFingerprint(), requestFingerprint);
+            if (existing.isCompleted()) {
+                return Optional.of(existing);
+            }
+            if (existing.getCreatedAt().isBefore(Instant.now().minus(waitTimeout))) {
+                // The node that claimed the key did not finish in time and most likely died: take the key over
+                log.warn("Taking over stale pending request {}", recordId);
+                mongoTemplate.remove(Query.query(Criteria.where("_id").is(recordId)
+                        .and("completed").is(false)
+                        .and("createdAt").is(existing.getCreatedAt())), IdempotencyRecord.class);
+                try {
+                    idempotencyRecordRepository.insert(pending);
+                    return Optional.empty();
+                } catch (DuplicateKeyException takenOver) {
+                    throw new CustomException(ResponseStatus.IDEMPOTENCY_KEY_IN_PROGRESS);
+                }
+            }
+            throw new CustomException(ResponseStatus.IDEMPOTENCY_KEY_IN_PROGRESS);
+        }
+    }
+
+    private ResponseDataDTO awaitResult(CompletableFuture<ResponseDataDTO> result) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new CustomException(ResponseStatus.IDEMPOTENCY_KEY_IN_PROGRESS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(ResponseStatus.IDEMPOTENCY_KEY_IN_PROGRESS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static void checkSameRequest(String storedFingerprint, String requestFingerprint) {
+        if (!storedFingerprint.equals(requestFingerprint)) {
+            throw new CustomException(ResponseStatus.IDEMPOTENCY_KEY_REUSED);
+        }
+    }
+
+    /**
+     * A request of this node, completed once it has run.
+     */
+    private static final class InFlightRequest {
+        private final String requestFingerprint;
+        private final CompletableFuture<ResponseDataDTO> result = new CompletableFuture<>();
+
+        private InFlightRequest(String requestFingerprint) {
+            this.requestFingerprint = requestFingerprint;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.TrainSummaryDTO;
+import com.yaksh.train_ticket.model.Ticket;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking train search and ticket booking, served by the reactive endpoints.
+ */
+public interface ReactiveBookingService {
+
+    /**
+     * Streams summaries of the trains that stop at the source before the destination on the travel date, as they are read.
+     *
+     * @param source      The source station name.
+     * @param destination The destination station name.
+     * @param travelDate  The travel date.
+     * @return The matching trains.
+     */
+    Flux<TrainSummaryDTO> searchTrains(String source, String destination, LocalDate travelDate);
+
+    /**
+     * Reserves seats on a train and books a ticket for them.
+     *
+     * @param userId                  The ID of the user, resolved from the session token.
+     * @param trainPrn                The PRN of the train.
+     * @param source                  The source station.
+     * @param destination             The destination station.
+     * @param dateOfTravel            The date of travel.
+     * @param numberOfSeatsToBeBooked The number of seats to book.
+     * @return The booked ticket.
+     */
+    Mono<Ticket> bookTicket(String userId, String trainPrn, String source, String destination,
+                            LocalDate dateOfTravel, int numberOfSeatsToBeBooked);
+}
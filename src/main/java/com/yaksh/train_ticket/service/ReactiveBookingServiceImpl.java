@@ -0,0 +1,180 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.TrainSummaryDTO;
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.Ticket;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.model.TrainRoute;
+import com.yaksh.train_ticket.repository.ReactiveTicketRepository;
+import com.yaksh.train_ticket.repository.ReactiveTrainRepository;
+import com.yaksh.train_ticket.repository.ReactiveTrainRouteRepository;
+import com.yaksh.train_ticket.repository.ReactiveTrainSeatInventoryRepository;
+import com.yaksh.train_ticket.util.StationNames;
+import com.yaksh.train_ticket.util.TrainServiceUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reactive Mongo implementation of {@link ReactiveBookingService}.
+ *
+ * Seat picking and schedule checks reuse the in-memory logic of {@link TrainService}; only the reads and writes
+ * go through the reactive repositories. Bookings are not serialized per train and date here: the conditional
+ * seat update alone keeps two bookings from taking the same seats, and a booking that loses the race picks again.
+ * Seat layouts still embedded in train documents are not migrated on demand in this mode.
+ * Only created with the reactive endpoints; the reactive repositories are not set up in the servlet mode.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveBookingServiceImpl implements ReactiveBookingService {
+    private static final int MAX_RESERVATION_ATTEMPTS = 3; // Same retry budget as the blocking booking
+    private static final int AVAILABILITY_BATCH_SIZE = 32; // Search results whose seat counters are read together
+
+    private final ReactiveTrainRepository reactiveTrainRepository;
+    private final ReactiveTrainRouteRepository reactiveTrainRouteRepository;
+    private final ReactiveTrainSeatInventoryRepository reactiveTrainSeatInventoryRepository;
+    private final ReactiveTicketRepository reactiveTicketRepository;
+    private final TrainService trainService;
+    private final TrainServiceUtil trainServiceUtil;
+
+    @Override
+    public Flux<TrainSummaryDTO> searchTrains(String source, String destination, LocalDate travelDate) {
+        log.info("Searching trains from {} to {}", source, destination);
+        String canonicalSource = StationNames.canonical(source);
+        String canonicalDestination = StationNames.canonical(destination);
+
+        // Same route index lookup as the blocking search, then each train is emitted as soon as it is read
+        return reactiveTrainRouteRepository.findById(TrainRoute.routeKey(canonicalSource, canonicalDestination, travelDate.toString()))
+                .flatMapMany(route -> reactiveTrainRepository.findAllByIdWithScheduleOf(route.getTrainPrns(), travelDate))
+                .filter(train -> trainServiceUtil.validTrain(canonicalSource, canonicalDestination, travelDate, train))
+                // Free seat counters are read for a few trains at a time, with one query per group
+                .buffer(AVAILABILITY_BATCH_SIZE)
+                .concatMap(trains -> reactiveTrainSeatInventoryRepository
+                        .findAvailability(trains.stream().map(Train::getPrn).toList(), travelDate)
+                        .flatMapIterable(availability -> trains.stream()
+                                .map(train -> trainServiceUtil.summarize(train, source, destination, travelDate,
+                                        availability.get(train.getPrn())))
+                                .toList()));
+    }
+
+    @Override
+    public Mono<Ticket> bookTicket(String userId, String trainPrn, String source, String destination,
+                                   LocalDate dateOfTravel, int numberOfSeatsToBeBooked) {
+        log.info("Booking attempt - User: {}, Train: {}, Seats: {}", userId, trainPrn, numberOfSeatsToBeBooked);
+        if (dateOfTravel.isBefore(LocalDate.now())) {
+            return Mono.error(new CustomException("Date of travel cannot be in the past", ResponseStatus.INVALID_DATA));
+        }
+
+        return reactiveTrainRepository.findById(trainPrn)
+                .switchIfEmpty(Mono.error(() -> new CustomException("Train does not exist with PRN: " + trainPrn, ResponseStatus.TRAIN_NOT_FOUND)))
+                .filter(train -> trainServiceUtil.validTrain(source, destination, dateOfTravel, train))
+                .switchIfEmpty(Mono.error(() -> new CustomException(
+                        "Can not be Booked: Source and destination do not align with train data", ResponseStatus.INVALID_DATA)))
+                .flatMap(train -> reserveSeats(train, numberOfSeatsToBeBooked, dateOfTravel)
+                        .flatMap(reservedSeats -> saveTicket(userId, train, source, destination, dateOfTravel, reservedSeats)
+                                .onErrorResume(e -> {
+                                    log.error("Error while booking ticket: {}", e.getMessage(), e);
+                                    return releaseSeats(train, dateOfTravel, reservedSeats)
+                                            .then(Mono.error(new CustomException("Error while booking ticket: " + e.getMessage(),
+                                                    ResponseStatus.TICKET_NOT_BOOKED)));
+                                })));
+    }
+
+    /**
+     * Picks free seats from the date's inventory and books them with a conditional update, picking again from a
+     * fresh read if another booking took any of them in the meantime.
+     */
+    @SuppressWarnings("unchecked")
+    private Mono<List<List<Integer>>> reserveSeats(Train train, int numberOfSeatsToBeBooked, LocalDate travelDate) {
+        return reactiveTrainSeatInventoryRepository.findSeats(train.getPrn(), travelDate)
+                .switchIfEmpty(Mono.error(() -> new CustomException(
+                        String.format("Train %s has no seats on %s", train.getPrn(), travelDate), ResponseStatus.INVALID_DATA)))
+                .flatMap(seatInventory -> {
+                    // With the date's seats already on the train, seat picking does not touch the database
+                    train.setSeats(new HashMap<>());
+                    train.getSeats().put(travelDate.toString(), seatInventory);
+                    List<List<Integer>> seatsToBook = (List<List<Integer>>) trainService
+                            .areSeatsAvailable(train, numberOfSeatsToBeBooked, travelDate).getData();
+                    int largestFreeBlock = seatInventory.longestFreeRun();
+                    return reactiveTrainSeatInventoryRepository.reserveSeats(train.getPrn(), travelDate, seatInventory.wordMasks(seatsToBook))
+                            .flatMap(reserved -> {
+                                if (!reserved) {
+                                    return Mono.error(new CustomException(ResponseStatus.SEATS_ALREADY_BOOKED));
+                                }
+                                trainService.bookSeats(seatsToBook, seatInventory);
+                                return updateLargestFreeBlock(train, travelDate, seatInventory, largestFreeBlock)
+                                        .thenReturn(seatsToBook);
+                            });
+                })
+                .retryWhen(Retry.max(MAX_RESERVATION_ATTEMPTS - 1)
+                        .filter(e -> e instanceof CustomException ce && ce.getErrorCode() == ResponseStatus.SEATS_ALREADY_BOOKED)
+                        .doBeforeRetry(signal -> log.warn("Seat reservation conflict in train {} on {} (attempt {})",
+                                train.getPrn(), travelDate, signal.totalRetries() + 1))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .doOnNext(seats -> log.info("Reserved seats {} in train {} on {}", seats, train.getPrn(), travelDate));
+    }
+
+    private Mono<Ticket> saveTicket(String userId, Train train, String source, String destination,
+                                    LocalDate dateOfTravel, List<List<Integer>> reservedSeats) {
+        Ticket ticket = new Ticket(
+                UUID.randomUUID().toString(),
+                userId,
+                train.getPrn(),
+                dateOfTravel,
+                source,
+                trainService.getArrivalAtSourceTime(train, source, dateOfTravel),
+                destination,
+                trainService.getArrivalAtSourceTime(train, destination, dateOfTravel),
+                reservedSeats
+        );
+        return reactiveTicketRepository.save(ticket);
+    }
+
+    /**
+     * Gives back the seats of a booking that failed after its seats were reserved.
+     */
+    private Mono<Void> releaseSeats(Train train, LocalDate travelDate, List<List<Integer>> reservedSeats) {
+        SeatInventory seatInventory = train.getSeats().get(travelDate.toString());
+        int largestFreeBlock = seatInventory.longestFreeRun();
+        return reactiveTrainSeatInventoryRepository.releaseSeats(train.getPrn(), travelDate, seatInventory.wordMasks(reservedSeats))
+                .doOnNext(released -> log.info("Seats {} freed in train {} on {}", reservedSeats, train.getPrn(), travelDate))
+                .flatMap(released -> {
+                    reservedSeats.forEach(seat -> seatInventory.free(seat.get(0), seat.get(1)));
+                    return updateLargestFreeBlock(train, travelDate, seatInventory, largestFreeBlock);
+                })
+                .onErrorResume(e -> {
+                    log.error("Could not release seats {} of train {} on {}: {}", reservedSeats, train.getPrn(), travelDate, e.getMessage(), e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Stores the longest run of free seats of the date if this booking changed it; a failure only leaves the search
+     * hint behind and does not fail the booking.
+     */
+    private Mono<Void> updateLargestFreeBlock(Train train, LocalDate travelDate, SeatInventory seatInventory, int largestFreeBlock) {
+        int updatedLargestFreeBlock = seatInventory.longestFreeRun();
+        if (updatedLargestFreeBlock == largestFreeBlock) {
+            return Mono.empty();
+        }
+        return reactiveTrainSeatInventoryRepository.updateLargestFreeBlock(train.getPrn(), travelDate, updatedLargestFreeBlock)
+                .onErrorResume(e -> {
+                    log.warn("Could not update the largest free block of train {} on {}: {}", train.getPrn(), travelDate, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
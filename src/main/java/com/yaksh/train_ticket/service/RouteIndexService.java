@@ -0,0 +1,51 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.model.Train;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains the (source, destination, travel date) route index so train search only has to load
+ * the trains that actually serve the requested station pair.
+ */
+public interface RouteIndexService {
+
+    /**
+     * Adds or refreshes the route entries of a single train.
+     * @param train The train whose schedules should be indexed.
+     */
+    void indexTrain(Train train);
+
+    /**
+     * Adds the route entries of newly created trains.
+     * @param trains The trains to index.
+     */
+    void indexTrains(List<Train> trains);
+
+    /**
+     * Returns the PRNs of trains that stop at the source before the destination on the given date.
+     * @param source The source station.
+     * @param destination The destination station.
+     * @param travelDate The date of travel.
+     * @return The candidate train PRNs, empty if no train serves the pair.
+     */
+    Set<String> findCandidateTrains(String source, String destination, LocalDate travelDate);
+
+    /**
+     * Returns the candidate trains of every date in a window with one lookup.
+     * @param source The source station.
+     * @param destination The destination station.
+     * @param fromDate The first date of travel.
+     * @param toDate The last date of travel, inclusive.
+     * @return Date to the PRNs of trains that stop at the source before the destination that day; dates no train serves are left out.
+     */
+    Map<LocalDate, Set<String>> findCandidateTrains(String source, String destination, LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Drops and rebuilds the whole route index from the trains collection.
+     */
+    void rebuildIndex();
+}
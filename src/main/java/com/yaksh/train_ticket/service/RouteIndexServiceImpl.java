@@ -0,0 +1,174 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.model.StationSchedule;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.model.TrainRoute;
+import com.yaksh.train_ticket.repository.TrainRouteRepository;
+import com.yaksh.train_ticket.util.StationNames;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Route index backed by the "train_routes" collection.
+ * Every (source, destination, date) triple served by a train is upserted with the train PRN
+ * added to the entry's PRN set, so a search is a single primary key lookup.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RouteIndexServiceImpl implements RouteIndexService {
+    private static final int BULK_BATCH_SIZE = 1000; // Upserts sent to Mongo per bulk write
+
+    private final MongoTemplate mongoTemplate;
+    private final TrainRouteRepository trainRouteRepository;
+
+    /**
+     * Builds the route index on startup if it is empty but trains already exist,
+     * which is the case right after upgrading an existing database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIndex() {
+        if (trainRouteRepository.count() == 0 && mongoTemplate.count(new Query(), Train.class) > 0) {
+            log.info("Route index is empty, building it from the trains collection");
+            rebuildIndex();
+        }
+    }
+
+    @Override
+    public void indexTrain(Train train) {
+        // Remove the train from every route it used to serve before adding the current ones
+        Query servedRoutes = Query.query(Criteria.where("trainPrns").is(train.getPrn()));
+        servedRoutes.fields().include("_id");
+        List<String> previousRouteKeys = mongoTemplate.find(servedRoutes, TrainRoute.class).stream()
+                .map(TrainRoute::getRouteKey)
+                .toList();
+        if (!previousRouteKeys.isEmpty()) {
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(previousRouteKeys)),
+                    new Update().pull("trainPrns", train.getPrn()),
+                    TrainRoute.class);
+        }
+        addRoutes(List.of(train));
+        // Routes no train serves any more would otherwise stay behind as empty entries
+        if (!previousRouteKeys.isEmpty()) {
+            mongoTemplate.remove(
+                    Query.query(Criteria.where("_id").in(previousRouteKeys).and("trainPrns").size(0)),
+                    TrainRoute.class);
+        }
+    }
+
+    @Override
+    public void indexTrains(List<Train> trains) {
+        if (trains.isEmpty()) {
+            return;
+        }
+        addRoutes(trains);
+    }
+
+    @Override
+    public Set<String> findCandidateTrains(String source, String destination, LocalDate travelDate) {
+        String routeKey = TrainRoute.routeKey(
+                StationNames.canonical(source), StationNames.canonical(destination), travelDate.toString());
+        return trainRouteRepository.findById(routeKey)
+                .map(TrainRoute::getTrainPrns)
+                .orElse(Collections.emptySet());
+    }
+
+    @Override
+    public Map<LocalDate, Set<String>> findCandidateTrains(String source, String destination, LocalDate fromDate, LocalDate toDate) {
+        String canonicalSource = StationNames.canonical(source);
+        String canonicalDestination = StationNames.canonical(destination);
+        List<String> routeKeys = fromDate.datesUntil(toDate.plusDays(1))
+                .map(travelDate -> TrainRoute.routeKey(canonicalSource, canonicalDestination, travelDate.toString()))
+                .toList();
+        Map<LocalDate, Set<String>> candidates = new HashMap<>();
+        trainRouteRepository.findAllById(routeKeys)
+                .forEach(route -> candidates.put(LocalDate.parse(route.getTravelDate()), route.getTrainPrns()));
+        return candidates;
+    }
+
+    @Override
+    public void rebuildIndex() {
+        log.info("Rebuilding route index");
+        trainRouteRepository.deleteAll();
+
+        // Seats are not needed to build routes, so they are not fetched
+        Query query = new Query();
+        query.fields().exclude("seats");
+        List<Train> batch = new ArrayList<>();
+        try (Stream<Train> trains = mongoTemplate.stream(query, Train.class)) {
+            trains.forEach(train -> {
+                batch.add(train);
+                if (batch.size() == 100) {
+                    addRoutes(batch);
+                    batch.clear();
+                }
+            });
+        }
+        addRoutes(batch);
+        log.info("Route index rebuilt with {} entries", trainRouteRepository.count());
+    }
+
+    /**
+     * Upserts one route entry per ordered station pair, per date, per train.
+     */
+    private void addRoutes(List<Train> trains) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainRoute.class);
+        int pendingOps = 0;
+        for (Train train : trains) {
+            if (train.getSchedules() == null) {
+                continue;
+            }
+            for (Map.Entry<String, List<StationSchedule>> daySchedule : train.getSchedules().entrySet()) {
+                List<String> stations = orderedStations(daySchedule.getValue());
+                for (int from = 0; from < stations.size(); from++) {
+                    for (int to = from + 1; to < stations.size(); to++) {
+                        String source = stations.get(from);
+                        String destination = stations.get(to);
+                        String routeKey = TrainRoute.routeKey(source, destination, daySchedule.getKey());
+                        bulkOps.upsert(
+                                Query.query(Criteria.where("_id").is(routeKey)),
+                                new Update()
+                                        .setOnInsert("source", source)
+                                        .setOnInsert("destination", destination)
+                                        .setOnInsert("travelDate", daySchedule.getKey())
+                                        .addToSet("trainPrns", train.getPrn()));
+                        if (++pendingOps == BULK_BATCH_SIZE) {
+                            bulkOps.execute();
+                            bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainRoute.class);
+                            pendingOps = 0;
+                        }
+                    }
+                }
+            }
+        }
+        if (pendingOps > 0) {
+            bulkOps.execute();
+        }
+    }
+
+    /**
+     * Returns the canonical station names of a day's schedule in stop order,
+     * keeping only the first stop when a station appears more than once (same rule as validTrain).
+     */
+    private List<String> orderedStations(List<StationSchedule> schedules) {
+        if (schedules == null) {
+            return Collections.emptyList();
+        }
+        Set<String> stations = new LinkedHashSet<>();
+        schedules.forEach(station -> stations.add(StationNames.canonical(station.getName())));
+        return new ArrayList<>(stations);
+    }
+}
@@ -0,0 +1,22 @@
+package com.yaksh.train_ticket.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persists the seats picked for one or more bookings of a train and date, together with whatever has to be written
+ * with them, while the seat inventory of that date is locked on this node.
+ *
+ * @param <T> The result of a successful commit.
+ */
+@FunctionalInterface
+public interface SeatReservationCommit<T> {
+
+    /**
+     * @param seatMasks   Word index to bitmask of all the picked seats.
+     * @param allocations The seats picked for each booking, in order; null for a booking there were not enough seats for.
+     * @return The result, or empty if another node booked any of the seats first and nothing was written.
+     */
+    Optional<T> commit(Map<Integer, Long> seatMasks, List<List<List<Integer>>> allocations);
+}
@@ -0,0 +1,26 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.model.User;
+
+/**
+ * Issues and verifies self-contained session tokens.
+ * A token carries the user ID and its expiry and is signed with a key local to the deployment,
+ * so any node holding the key can verify it without a database lookup.
+ */
+public interface SessionTokenService {
+
+    /**
+     * Issues a session token for a user who just logged in.
+     * @param user The authenticated user.
+     * @return The signed session token.
+     */
+    String issueToken(User user);
+
+    /**
+     * Verifies a session token and returns the user it was issued to.
+     * @param token The token, optionally prefixed with "Bearer ".
+     * @return The ID of the user the token belongs to.
+     * @throws com.yaksh.train_ticket.exceptions.CustomException with SESSION_INVALID if the token is missing, forged or expired.
+     */
+    String resolveUserId(String token);
+}
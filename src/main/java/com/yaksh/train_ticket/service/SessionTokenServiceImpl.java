@@ -0,0 +1,104 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * HMAC-SHA256 session tokens of the form base64url(userId|expiresAtEpochSecond).base64url(signature).
+ */
+@Service
+@Slf4j
+public class SessionTokenServiceImpl implements SessionTokenService {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final SecretKeySpec signingKey;
+    private final Duration tokenTtl;
+    private final Clock clock;
+
+    public SessionTokenServiceImpl(@Value("${session.token.secret:}") String secret,
+                                   @Value("${session.token.ttl:12h}") Duration tokenTtl) {
+        this(secret, tokenTtl, Clock.systemUTC());
+    }
+
+    SessionTokenServiceImpl(String secret, Duration tokenTtl, Clock clock) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            // Tokens then only verify on this node and until it restarts
+            log.warn("session.token.secret is not set, using a random key local to this instance");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+        }
+        this.signingKey = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.tokenTtl = tokenTtl;
+        this.clock = clock;
+    }
+
+    @Override
+    public String issueToken(User user) {
+        long expiresAt = clock.instant().plus(tokenTtl).getEpochSecond();
+        byte[] payload = (user.getUserId() + "|" + expiresAt).getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload));
+    }
+
+    @Override
+    public String resolveUserId(String token) {
+        if (token == null || token.isBlank()) {
+            throw new CustomException("Please log in first", ResponseStatus.SESSION_INVALID);
+        }
+        if (token.startsWith(BEARER_PREFIX)) {
+            token = token.substring(BEARER_PREFIX.length());
+        }
+
+        int separator = token.indexOf('.');
+        byte[] payload;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(token.substring(0, Math.max(separator, 0)));
+            signature = decoder.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(ResponseStatus.SESSION_INVALID);
+        }
+        // Constant time comparison, so the signature cannot be guessed byte by byte
+        if (separator <= 0 || !MessageDigest.isEqual(sign(payload), signature)) {
+            throw new CustomException(ResponseStatus.SESSION_INVALID);
+        }
+
+        String claims = new String(payload, StandardCharsets.UTF_8);
+        int claimSeparator = claims.lastIndexOf('|');
+        long expiresAt = Long.parseLong(claims.substring(claimSeparator + 1));
+        if (clock.instant().getEpochSecond() >= expiresAt) {
+            throw new CustomException("Session expired, please log in again", ResponseStatus.SESSION_INVALID);
+        }
+        return claims.substring(0, claimSeparator);
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            // Mac instances are not thread safe; creating one per call is cheap next to the request itself
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Session token signing is not available", e);
+        }
+    }
+}
@@ -13,5 +13,9 @@ public interface TicketService {
     Ticket saveTicket(Ticket ticketToSave);
     Optional<Ticket> findTicketById(String idOfTicketToFind);
     void deleteTicketById(String idOfTicketToDelete);
+    Optional<Ticket> deleteTicketOfUser(String userId, String idOfTicketToDelete);
+    List<Ticket> findTicketsOfUser(String userId, LocalDate fromDate, LocalDate toDate, LocalDate afterDate, String afterTicketId, int limit);
+    long countTicketsOfUser(String userId, LocalDate fromDate, LocalDate toDate);
+    Ticket buildTicket(String userId, String trainPrn, LocalDate dateOfTravel, String source, String destination, List<List<Integer>> availableSeatsList, LocalDateTime arrivalTimeAtSource, LocalDateTime reachingTimeAtDestination);
     Ticket createNewTicket(String userId, String trainPrn, LocalDate dateOfTravel, String source, String destination, List<List<Integer>> availableSeatsList, LocalDateTime arrivalTimeAtSource, LocalDateTime reachingTimeAtDestination);
 }
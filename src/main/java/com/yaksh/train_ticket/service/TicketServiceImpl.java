@@ -72,6 +72,48 @@ public class TicketServiceImpl implements TicketService {
         ticketRepositoryV2.deleteById(idOfTicketToDelete);
     }
 
+    /**
+     * Deletes a ticket if it belongs to the user. Only one of several concurrent calls for the same ticket deletes it.
+     *
+     * @param userId             The ID of the user.
+     * @param idOfTicketToDelete The unique ID of the ticket to delete.
+     * @return The deleted ticket, or empty if the user has no ticket with this ID.
+     */
+    @Override
+    public Optional<Ticket> deleteTicketOfUser(String userId, String idOfTicketToDelete) {
+        return ticketRepositoryV2.deleteTicketOfUser(idOfTicketToDelete, userId);
+    }
+
+    /**
+     * Finds one page of a user's tickets through the userId index, ordered by date of travel and ticket ID.
+     *
+     * @param userId        The ID of the user.
+     * @param fromDate      The earliest date of travel, or null.
+     * @param toDate        The latest date of travel, or null.
+     * @param afterDate     The date of travel of the last ticket already returned, or null for the first page.
+     * @param afterTicketId The ID of the last ticket already returned, or null for the first page.
+     * @param limit         The maximum number of tickets to return.
+     * @return The tickets of the page.
+     */
+    @Override
+    public List<Ticket> findTicketsOfUser(String userId, LocalDate fromDate, LocalDate toDate,
+                                          LocalDate afterDate, String afterTicketId, int limit) {
+        return ticketRepositoryV2.findTicketsOfUser(userId, fromDate, toDate, afterDate, afterTicketId, limit);
+    }
+
+    /**
+     * Counts a user's tickets, optionally within a range of travel dates.
+     *
+     * @param userId   The ID of the user.
+     * @param fromDate The earliest date of travel, or null.
+     * @param toDate   The latest date of travel, or null.
+     * @return The number of tickets.
+     */
+    @Override
+    public long countTicketsOfUser(String userId, LocalDate fromDate, LocalDate toDate) {
+        return ticketRepositoryV2.countTicketsOfUser(userId, fromDate, toDate);
+    }
+
     /**
      * Creates a new ticket with the given details and saves it to the database.
      * 
@@ -97,7 +139,38 @@ public class TicketServiceImpl implements TicketService {
             LocalDateTime reachingTimeAtDestination
     ) {
         // Generate a new ticket object with the provided details.
-        Ticket ticket = new Ticket(
+        Ticket ticket = buildTicket(userId, trainPrn, dateOfTravel, source, destination, availableSeatsList,
+                arrivalTimeAtSource, reachingTimeAtDestination);
+
+        // Save the newly created ticket to the database and return it.
+        return saveTicket(ticket);
+    }
+
+    /**
+     * Creates a new ticket with the given details without saving it.
+     *
+     * @param userId                  The ID of the user booking the ticket.
+     * @param trainPrn                The train's PRN (Passenger Reservation Number).
+     * @param dateOfTravel            The date of travel for the ticket.
+     * @param source                  The source station.
+     * @param destination             The destination station.
+     * @param availableSeatsList      The seats booked for the journey.
+     * @param arrivalTimeAtSource     The arrival time of the train at the source station.
+     * @param reachingTimeAtDestination The reaching time of the train at the destination station.
+     * @return The new ticket, with a generated ID.
+     */
+    @Override
+    public Ticket buildTicket(
+            String userId,
+            String trainPrn,
+            LocalDate dateOfTravel,
+            String source,
+            String destination,
+            List<List<Integer>> availableSeatsList,
+            LocalDateTime arrivalTimeAtSource,
+            LocalDateTime reachingTimeAtDestination
+    ) {
+        return new Ticket(
                 UUID.randomUUID().toString(), // Generate a unique ticket ID using UUID.
                 userId,
                 trainPrn,
@@ -108,8 +181,5 @@ public class TicketServiceImpl implements TicketService {
                 reachingTimeAtDestination,
                 availableSeatsList
         );
-
-        // Save the newly created ticket to the database and return it.
-        return saveTicket(ticket);
     }
 }
\ No newline at end of file
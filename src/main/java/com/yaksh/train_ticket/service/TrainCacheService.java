@@ -0,0 +1,32 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.model.Train;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Bounded in-process cache of train static data (name, schedules and their compiled lookup view).
+ * Seats are never cached: every train handed out carries no seats and loads them from the seat inventory on use.
+ */
+public interface TrainCacheService {
+
+    /**
+     * Returns a train from the cache, loading it from the repository on a miss.
+     * @param prn The PRN of the train.
+     * @return A copy of the cached train without seats, or empty if the train does not exist.
+     */
+    Optional<Train> findTrain(String prn);
+
+    /**
+     * Drops a train from the cache after it was written.
+     * @param prn The PRN of the train.
+     */
+    void invalidate(String prn);
+
+    /**
+     * Drops several trains from the cache after they were written.
+     * @param prns The PRNs of the trains.
+     */
+    void invalidateAll(Collection<String> prns);
+}
@@ -0,0 +1,67 @@
+package com.yaksh.train_ticket.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.repository.TrainRepositoryV2;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Caffeine backed train cache, bounded by size and time since the entry was loaded.
+ * Hit, miss, load and eviction counts are published as "cache.*" meters with the tag cache=trains.
+ */
+@Service
+@Slf4j
+public class TrainCacheServiceImpl implements TrainCacheService {
+    private final TrainRepositoryV2 trainRepositoryV2;
+    private final Cache<String, Train> trains;
+
+    public TrainCacheServiceImpl(TrainRepositoryV2 trainRepositoryV2,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${train.cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${train.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.trainRepositoryV2 = trainRepositoryV2;
+        this.trains = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, trains, "trains");
+    }
+
+    @Override
+    public Optional<Train> findTrain(String prn) {
+        // A missing train is not cached, so a train added later is found right away
+        Train cached = trains.get(prn, this::loadTrain);
+        return Optional.ofNullable(cached).map(Train::copyWithoutSeats);
+    }
+
+    @Override
+    public void invalidate(String prn) {
+        trains.invalidate(prn);
+    }
+
+    @Override
+    public void invalidateAll(Collection<String> prns) {
+        trains.invalidateAll(prns);
+    }
+
+    private Train loadTrain(String prn) {
+        log.debug("Train cache miss for {}", prn);
+        Train train = trainRepositoryV2.findById(prn).orElse(null);
+        if (train == null) {
+            return null;
+        }
+        train.setSeats(null);
+        train.compileSchedules();
+        return train;
+    }
+}
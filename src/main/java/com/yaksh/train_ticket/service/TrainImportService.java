@@ -0,0 +1,23 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.TrainImportReportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Imports trains from a newline delimited JSON stream (one train per line) without holding the whole input in memory.
+ */
+public interface TrainImportService {
+
+    /**
+     * Reads the stream in chunks. Each chunk is checked for existing PRNs with one query and written with one
+     * unordered bulk insert; trains that are malformed, duplicated or already present are reported and skipped.
+     * @param ndjson The NDJSON input.
+     * @param progressListener Receives a report after every chunk.
+     * @return The final report with the totals.
+     * @throws IOException If the input cannot be read.
+     */
+    TrainImportReportDTO importTrains(InputStream ndjson, Consumer<TrainImportReportDTO> progressListener) throws IOException;
+}
@@ -0,0 +1,186 @@
+package com.yaksh.train_ticket.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import com.yaksh.train_ticket.DTO.TrainImportReportDTO;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import com.yaksh.train_ticket.repository.TrainRepositoryV2;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * NDJSON train import writing one chunk at a time.
+ */
+@Service
+@Slf4j
+public class TrainImportServiceImpl implements TrainImportService {
+    private final MongoTemplate mongoTemplate;
+    private final TrainRepositoryV2 trainRepositoryV2;
+    private final RouteIndexService routeIndexService;
+    private final ConnectionSearchService connectionSearchService;
+    private final TrainCacheService trainCacheService;
+    private final ObjectReader trainReader;
+    private final int chunkSize;
+
+    public TrainImportServiceImpl(MongoTemplate mongoTemplate,
+                                  TrainRepositoryV2 trainRepositoryV2,
+                                  RouteIndexService routeIndexService,
+                                  ConnectionSearchService connectionSearchService,
+                                  TrainCacheService trainCacheService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${train.import.chunk-size:500}") int chunkSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.trainRepositoryV2 = trainRepositoryV2;
+        this.routeIndexService = routeIndexService;
+        this.connectionSearchService = connectionSearchService;
+        this.trainCacheService = trainCacheService;
+        this.trainReader = objectMapper.readerFor(Train.class);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public TrainImportReportDTO importTrains(InputStream ndjson, Consumer<TrainImportReportDTO> progressListener) throws IOException {
+        long processed = 0;
+        long inserted = 0;
+        long failed = 0;
+        long lineNumber = 0;
+        Map<Long, Train> chunk = new LinkedHashMap<>(); // line number -> parsed train
+        List<TrainImportReportDTO.Failure> failures = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            processed++;
+            try {
+                Train train = trainReader.readValue(line);
+                if (train.getPrn() == null || train.getPrn().isBlank()) {
+                    failures.add(new TrainImportReportDTO.Failure(lineNumber, null, "Train has no PRN"));
+                } else {
+                    chunk.put(lineNumber, train);
+                }
+            } catch (JsonProcessingException e) {
+                failures.add(new TrainImportReportDTO.Failure(lineNumber, null, "Malformed train: " + e.getOriginalMessage()));
+            }
+
+            // Failures count towards the chunk too, so a run of bad lines is still reported in bounded pieces
+            if (chunk.size() + failures.size() >= chunkSize) {
+                inserted += importChunk(chunk, failures);
+                failed += failures.size();
+                progressListener.accept(report(false, processed, inserted, failed, failures));
+                chunk = new LinkedHashMap<>();
+                failures = new ArrayList<>();
+            }
+        }
+        inserted += importChunk(chunk, failures);
+        failed += failures.size();
+        if (!chunk.isEmpty() || !failures.isEmpty()) {
+            progressListener.accept(report(false, processed, inserted, failed, failures));
+        }
+
+        log.info("Train import finished: {} processed, {} inserted, {} failed", processed, inserted, failed);
+        return report(true, processed, inserted, failed, null);
+    }
+
+    /**
+     * Inserts the new trains of a chunk and records the others as failures.
+     *
+     * @return The number of trains inserted.
+     */
+    private int importChunk(Map<Long, Train> chunk, List<TrainImportReportDTO.Failure> failures) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Set<String> existingPrns = trainRepositoryV2.findExistingPrns(
+                chunk.values().stream().map(Train::getPrn).toList());
+
+        List<Train> trainsToInsert = new ArrayList<>();
+        List<Long> insertLines = new ArrayList<>();
+        Set<String> prnsInChunk = new HashSet<>();
+        chunk.forEach((lineNumber, train) -> {
+            if (existingPrns.contains(train.getPrn())) {
+                failures.add(new TrainImportReportDTO.Failure(lineNumber, train.getPrn(), "Train already exists"));
+            } else if (!prnsInChunk.add(train.getPrn())) {
+                failures.add(new TrainImportReportDTO.Failure(lineNumber, train.getPrn(), "Duplicate PRN in import"));
+            } else {
+                trainsToInsert.add(train);
+                insertLines.add(lineNumber);
+            }
+        });
+        if (trainsToInsert.isEmpty()) {
+            return 0;
+        }
+
+        // Unordered, so one rejected train does not stop the rest of the chunk
+        Set<Integer> rejectedIndexes = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Train.class).insert(trainsToInsert).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                rejectedIndexes.add(error.getIndex());
+                failures.add(new TrainImportReportDTO.Failure(insertLines.get(error.getIndex()),
+                        trainsToInsert.get(error.getIndex()).getPrn(), error.getMessage()));
+            }
+        }
+
+        List<Train> insertedTrains = new ArrayList<>(trainsToInsert.size() - rejectedIndexes.size());
+        for (int i = 0; i < trainsToInsert.size(); i++) {
+            if (!rejectedIndexes.contains(i)) {
+                insertedTrains.add(trainsToInsert.get(i));
+            }
+        }
+        try {
+            insertSeatInventories(insertedTrains, chunk, failures);
+        } finally {
+            // The trains are stored whatever happened to their seats, so they must be searchable
+            routeIndexService.indexTrains(insertedTrains);
+            connectionSearchService.indexTrains(insertedTrains);
+            trainCacheService.invalidateAll(insertedTrains.stream().map(Train::getPrn).toList());
+        }
+        return insertedTrains.size();
+    }
+
+    /**
+     * Inserts the seat inventories of the inserted trains, recording each rejected inventory as a failure of its train's line.
+     */
+    private void insertSeatInventories(List<Train> insertedTrains, Map<Long, Train> chunk, List<TrainImportReportDTO.Failure> failures) {
+        List<TrainSeatInventory> inventories = TrainSeatInventory.forTrains(insertedTrains);
+        if (inventories.isEmpty()) {
+            return;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainSeatInventory.class).insert(inventories).execute();
+        } catch (BulkOperationException e) {
+            Map<String, Long> linesByPrn = new HashMap<>();
+            chunk.forEach((lineNumber, train) -> linesByPrn.putIfAbsent(train.getPrn(), lineNumber));
+            for (BulkWriteError error : e.getErrors()) {
+                TrainSeatInventory inventory = inventories.get(error.getIndex());
+                failures.add(new TrainImportReportDTO.Failure(linesByPrn.get(inventory.getTrainPrn()), inventory.getTrainPrn(),
+                        String.format("Train inserted but seats of %s not saved: %s", inventory.getTravelDate(), error.getMessage())));
+            }
+        }
+    }
+
+    private static TrainImportReportDTO report(boolean done, long processed, long inserted, long failed,
+                                               List<TrainImportReportDTO.Failure> failures) {
+        return new TrainImportReportDTO(done, processed, inserted, failed, failures);
+    }
+}
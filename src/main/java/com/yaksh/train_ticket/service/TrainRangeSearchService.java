@@ -0,0 +1,21 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+
+import java.time.LocalDate;
+
+/**
+ * Train search over a window of travel dates, for travellers whose date is flexible.
+ */
+public interface TrainRangeSearchService {
+
+    /**
+     * Finds the trains between two stations on every date of a window, with their free seats per date.
+     * @param source The source station.
+     * @param destination The destination station.
+     * @param fromDate The first date of travel.
+     * @param toDate The last date of travel, inclusive.
+     * @return ResponseDataDTO containing a {@link com.yaksh.train_ticket.DTO.TrainAvailabilityMatrixDTO}.
+     */
+    ResponseDataDTO searchTrainsRange(String source, String destination, LocalDate fromDate, LocalDate toDate);
+}
@@ -0,0 +1,188 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+import com.yaksh.train_ticket.DTO.TrainAvailabilityMatrixDTO;
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.model.SeatAvailability;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.repository.TrainRepositoryV2;
+import com.yaksh.train_ticket.repository.TrainSeatInventoryRepository;
+import com.yaksh.train_ticket.util.StationNames;
+import com.yaksh.train_ticket.util.TrainServiceUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Flexible date search: the route index entries and the trains of the whole window are read with one query each,
+ * then every date is checked and its seat counters read on a bounded pool, one task per date.
+ */
+@Service
+@Slf4j
+public class TrainRangeSearchServiceImpl implements TrainRangeSearchService {
+    private final RouteIndexService routeIndexService;
+    private final TrainRepositoryV2 trainRepositoryV2;
+    private final TrainSeatInventoryRepository trainSeatInventoryRepository;
+    private final TrainServiceUtil trainServiceUtil;
+    private final ExecutorService dateExecutor;
+    private final int maxDays;
+    private final Duration timeout;
+
+    public TrainRangeSearchServiceImpl(RouteIndexService routeIndexService,
+                                       TrainRepositoryV2 trainRepositoryV2,
+                                       TrainSeatInventoryRepository trainSeatInventoryRepository,
+                                       TrainServiceUtil trainServiceUtil,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${train.search.range.max-days:14}") int maxDays,
+                                       @Value("${train.search.range.threads:4}") int threads,
+                                       @Value("${train.search.range.queue-capacity:256}") int queueCapacity,
+                                       @Value("${train.search.range.timeout:10s}") Duration timeout) {
+        this.routeIndexService = routeIndexService;
+        this.trainRepositoryV2 = trainRepositoryV2;
+        this.trainSeatInventoryRepository = trainSeatInventoryRepository;
+        this.trainServiceUtil = trainServiceUtil;
+        this.maxDays = maxDays;
+        this.timeout = timeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "train-search-range-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.dateExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "train.search.range");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dateExecutor.shutdownNow();
+    }
+
+    @Override
+    public ResponseDataDTO searchTrainsRange(String source, String destination, LocalDate fromDate, LocalDate toDate) {
+        log.info("Searching trains from {} to {} between {} and {}", source, destination, fromDate, toDate);
+        if (toDate.isBefore(fromDate)) {
+            throw new CustomException("From date must not be after to date", ResponseStatus.INVALID_DATA);
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= maxDays) {
+            throw new CustomException(String.format("A date range can span at most %d days", maxDays), ResponseStatus.INVALID_DATA);
+        }
+        String canonicalSource = StationNames.canonical(source);
+        String canonicalDestination = StationNames.canonical(destination);
+        List<LocalDate> dates = fromDate.datesUntil(toDate.plusDays(1)).toList();
+
+        // One route index query and one projected train query for the whole window
+        Map<LocalDate, Set<String>> candidatesByDate = routeIndexService.findCandidateTrains(source, destination, fromDate, toDate);
+        Set<String> candidateTrainPrns = new HashSet<>();
+        candidatesByDate.values().forEach(candidateTrainPrns::addAll);
+        Map<String, Train> trainsByPrn = new HashMap<>();
+        for (Train train : trainRepositoryV2.findAllByIdWithSchedulesOf(candidateTrainPrns, dates)) {
+            // Compiled here so the date tasks only read the trains they share
+            train.compileSchedules();
+            trainsByPrn.put(train.getPrn(), train);
+        }
+
+        Map<LocalDate, Map<String, Integer>> freeSeatsByDate = onDatePool(dates.stream()
+                .filter(candidatesByDate::containsKey)
+                .toList(), travelDate -> freeSeatsOn(travelDate, candidatesByDate.get(travelDate), trainsByPrn,
+                canonicalSource, canonicalDestination));
+
+        // One row per train running on at least one date, with a value for every date
+        List<TrainAvailabilityMatrixDTO.Row> rows = new ArrayList<>();
+        trainsByPrn.values().stream()
+                .sorted(Comparator.comparing(Train::getPrn))
+                .forEach(train -> {
+                    List<Integer> freeSeats = new ArrayList<>(dates.size());
+                    boolean runs = false;
+                    for (LocalDate travelDate : dates) {
+                        Integer free = freeSeatsByDate.getOrDefault(travelDate, Map.of()).get(train.getPrn());
+                        freeSeats.add(free);
+                        runs |= free != null;
+                    }
+                    if (runs) {
+                        rows.add(new TrainAvailabilityMatrixDTO.Row(train.getPrn(), train.getTrainName(), freeSeats));
+                    }
+                });
+
+        log.info("Found {} trains from {} to {} over {} dates", rows.size(), source, destination, dates.size());
+        return new ResponseDataDTO(true, "Trains fetched",
+                new TrainAvailabilityMatrixDTO(source, destination, dates, rows));
+    }
+
+    /**
+     * Keeps the candidates that stop at the source before the destination on the date and reads their free seats.
+     *
+     * @return Train PRN to its free seats on the date; 0 when the train has no seat inventory for it.
+     */
+    private Map<String, Integer> freeSeatsOn(LocalDate travelDate, Set<String> candidateTrainPrns, Map<String, Train> trainsByPrn,
+                                             String canonicalSource, String canonicalDestination) {
+        List<String> runningTrainPrns = candidateTrainPrns.stream()
+                .map(trainsByPrn::get)
+                .filter(Objects::nonNull)
+                .filter(train -> trainServiceUtil.validTrain(canonicalSource, canonicalDestination, travelDate, train))
+                .map(Train::getPrn)
+                .toList();
+        Map<String, SeatAvailability> availability = trainSeatInventoryRepository.findAvailability(runningTrainPrns, travelDate);
+        Map<String, Integer> freeSeats = new HashMap<>();
+        runningTrainPrns.forEach(trainPrn -> {
+            SeatAvailability counters = availability.get(trainPrn);
+            freeSeats.put(trainPrn, counters == null || counters.getFreeSeats() == null ? 0 : counters.getFreeSeats());
+        });
+        return freeSeats;
+    }
+
+    /**
+     * Runs one task per date on the bounded pool and waits for all of them within the timeout.
+     * A full queue or a timeout is reported as {@link ResponseStatus#SERVICE_BUSY}.
+     */
+    private <T> Map<LocalDate, T> onDatePool(List<LocalDate> dates, Function<LocalDate, T> task) {
+        Map<LocalDate, Future<T>> futures = new LinkedHashMap<>();
+        try {
+            for (LocalDate travelDate : dates) {
+                futures.put(travelDate, dateExecutor.submit(() -> task.apply(travelDate)));
+            }
+        } catch (RejectedExecutionException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            log.warn("Train search range queue is full, rejecting request");
+            throw new CustomException(ResponseStatus.SERVICE_BUSY);
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<LocalDate, T> results = new HashMap<>();
+        try {
+            for (Map.Entry<LocalDate, Future<T>> future : futures.entrySet()) {
+                results.put(future.getKey(), future.getValue().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (TimeoutException e) {
+            log.warn("Train search range did not finish within {}", timeout);
+            throw new CustomException(ResponseStatus.SERVICE_BUSY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(ResponseStatus.SERVICE_BUSY);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            // Nothing left to wait for once the results are in or the request failed
+            futures.values().forEach(future -> future.cancel(true));
+        }
+    }
+}
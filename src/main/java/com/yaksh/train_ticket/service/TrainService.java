@@ -1,6 +1,8 @@
 package com.yaksh.train_ticket.service;
 
 import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+import com.yaksh.train_ticket.DTO.TrainSummaryDTO;
+import com.yaksh.train_ticket.model.SeatInventory;
 import com.yaksh.train_ticket.model.Train;
 
 import java.io.IOException;
@@ -8,9 +10,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TrainService {
-    ResponseDataDTO searchTrains(String source, String destination,LocalDate travelDate);
+    ResponseDataDTO searchTrains(String source, String destination, LocalDate travelDate, String cursor, Integer pageSize);
+    int streamTrains(String source, String destination, LocalDate travelDate, Consumer<TrainSummaryDTO> consumer);
     ResponseDataDTO areSeatsAvailable(Train train, int numberOfSeatsToBeBooked,LocalDate travelDate);
     ResponseDataDTO canBeBooked(String trainPrn,String source,String destination,LocalDate travelDate);
     Optional<Train> findTrainByPrn(String prn);
@@ -20,13 +24,20 @@ public interface TrainService {
 
     ResponseDataDTO updateTrain(Train updatedTrain);
 
-    boolean bookSeats(List<List<Integer>> seatsToBook,List<List<Integer>> allSeats);
+    boolean bookSeats(List<List<Integer>> seatsToBook,SeatInventory allSeats);
+
+    List<List<Integer>> reserveSeats(Train train, int numberOfSeatsToBeBooked, LocalDate travelDate);
+
+    <T> T reserveSeats(Train train, int numberOfSeatsToBeBooked, LocalDate travelDate, SeatReservationCommit<T> commit);
+
+    <T> T reserveSeatsForBookings(Train train, List<Integer> seatCounts, LocalDate travelDate, SeatReservationCommit<T> commit);
 
     void freeTheBookedSeats(List<List<Integer>> bookedSeats, Train train,LocalDate travelDate);
 
     LocalDateTime getArrivalAtSourceTime(Train train,String source,LocalDate travelDate);
     ResponseDataDTO getTrainSchedule(String trainId, LocalDate travelDate);
     ResponseDataDTO getSeatsAtParticularDate(String trainPrn, LocalDate travelDate);
+    ResponseDataDTO getTrainDetails(String trainPrn, LocalDate travelDate);
 
 
 
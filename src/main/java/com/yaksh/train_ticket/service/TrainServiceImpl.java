@@ -1,19 +1,34 @@
 package com.yaksh.train_ticket.service;
 import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+import com.yaksh.train_ticket.DTO.TrainSearchPageDTO;
+import com.yaksh.train_ticket.DTO.TrainSummaryDTO;
 import com.yaksh.train_ticket.enums.ResponseStatus;
 import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.migration.SeatInventoryMigration;
+import com.yaksh.train_ticket.model.CompiledSchedule;
+import com.yaksh.train_ticket.model.SeatAvailability;
+import com.yaksh.train_ticket.model.SeatInventory;
 import com.yaksh.train_ticket.model.StationSchedule;
 import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
 import com.yaksh.train_ticket.repository.TrainRepositoryV2;
+import com.yaksh.train_ticket.repository.TrainSeatInventoryRepository;
+import com.yaksh.train_ticket.util.InventoryLocks;
+import com.yaksh.train_ticket.util.StationNames;
 import com.yaksh.train_ticket.util.TrainServiceUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for managing train-related operations.
@@ -22,8 +37,24 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class TrainServiceImpl implements TrainService {
+    private static final int MAX_RESERVATION_ATTEMPTS = 3; // Retries when a concurrent booking takes the picked seats
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int AVAILABILITY_BATCH_SIZE = 32; // Streamed results whose seat counters are read together
+    private static final String CURSOR_SEPARATOR = "|";
+    // Order of search pages: departure from the source station, then PRN so trains leaving together keep a stable order
+    private static final Comparator<TrainSummaryDTO> DEPARTURE_ORDER = Comparator
+            .comparing(TrainSummaryDTO::getDepartureTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TrainSummaryDTO::getPrn);
+
     private final TrainRepositoryV2 trainRepositoryV2;
     private final TrainServiceUtil trainServiceUtil;
+    private final RouteIndexService routeIndexService;
+    private final ConnectionSearchService connectionSearchService;
+    private final TrainSeatInventoryRepository trainSeatInventoryRepository;
+    private final SeatInventoryMigration seatInventoryMigration;
+    private final TrainCacheService trainCacheService;
+    private final InventoryLocks inventoryLocks;
 
     /**
      * Adds a new train to the repository.
@@ -42,6 +73,10 @@ public class TrainServiceImpl implements TrainService {
 
             // Save the new train to the repository
             trainRepositoryV2.save(newTrain);
+            saveSeatInventories(List.of(newTrain));
+            trainCacheService.invalidate(newTrain.getPrn());
+            routeIndexService.indexTrains(List.of(newTrain));
+            connectionSearchService.indexTrains(List.of(newTrain));
             log.info("Train added successfully: {}", newTrain.getPrn());
             return new ResponseDataDTO(true, "Train added in the collection", newTrain);
         } catch (Exception e) {
@@ -61,18 +96,21 @@ public class TrainServiceImpl implements TrainService {
     public ResponseDataDTO addMultipleTrains(List<Train> newTrains) {
         log.info("Attempting to add {} trains", newTrains.size());
         try {
-            // Find existing trains by PRN
-            List<String> existingTrainPrns = newTrains.stream().filter(
-                    train -> trainServiceUtil.doesTrainExist(train.getPrn(), trainRepositoryV2)
-            ).map(train -> train.getPrn()).collect(Collectors.toList());
+            // Find existing trains by PRN with a single $in query
+            Set<String> existingTrainPrns = trainRepositoryV2.findExistingPrns(
+                    newTrains.stream().map(Train::getPrn).collect(Collectors.toList()));
 
             // Filter out new trains that do not already exist
             List<Train> newTrainsToAdd = newTrains.stream()
-                    .filter(train -> !trainServiceUtil.doesTrainExist(train.getPrn(), trainRepositoryV2))
+                    .filter(train -> !existingTrainPrns.contains(train.getPrn()))
                     .collect(Collectors.toList());
 
             // Save the new trains to the repository
             trainRepositoryV2.saveAll(newTrainsToAdd);
+            saveSeatInventories(newTrainsToAdd);
+            trainCacheService.invalidateAll(newTrainsToAdd.stream().map(Train::getPrn).toList());
+            routeIndexService.indexTrains(newTrainsToAdd);
+            connectionSearchService.indexTrains(newTrainsToAdd);
             log.info("Successfully added {} trains", newTrains.size());
             log.info("Successfully skipped trains with PRN {}", existingTrainPrns);
             return new ResponseDataDTO(true, "Trains added in the collection except trains with PRN: " + existingTrainPrns, newTrainsToAdd);
@@ -93,8 +131,15 @@ public class TrainServiceImpl implements TrainService {
     public ResponseDataDTO updateTrain(Train updatedTrain) {
         log.info("Attempting to update train: {}", updatedTrain.getPrn());
         try {
+            // Seats are not part of the train document any more; copy any still embedded before it is replaced
+            seatInventoryMigration.migrateTrain(updatedTrain.getPrn());
             // Save the updated train to the repository
             trainRepositoryV2.save(updatedTrain);
+            // Seats are only replaced when the update carries them
+            saveSeatInventories(List.of(updatedTrain));
+            trainCacheService.invalidate(updatedTrain.getPrn());
+            routeIndexService.indexTrain(updatedTrain);
+            connectionSearchService.indexTrains(List.of(updatedTrain));
             log.info("Train updated successfully: {}", updatedTrain.getPrn());
             return new ResponseDataDTO(true, "Train updated in the collection", updatedTrain);
         } catch (Exception e) {
@@ -107,18 +152,132 @@ public class TrainServiceImpl implements TrainService {
      * Books seats for a train by marking them as occupied.
      *
      * @param seatsToBook List of seat positions to be booked.
-     * @param allSeats    Current seat layout of the train.
+     * @param allSeats    Current seat inventory of the train.
      * @return true if booking is successful.
      */
     @Override
-    public boolean bookSeats(List<List<Integer>> seatsToBook, List<List<Integer>> allSeats) {
-        // Mark each specified seat as booked (1)
-        seatsToBook.forEach(seat -> allSeats.get(seat.get(0)).set(seat.get(1), 1));
+    public boolean bookSeats(List<List<Integer>> seatsToBook, SeatInventory allSeats) {
+        // Set the bit of each specified seat (booked)
+        seatsToBook.forEach(seat -> allSeats.book(seat.get(0), seat.get(1)));
         return true;
     }
 
+    /**
+     * Reserves seats for a booking. The seats are picked from the date's inventory and then booked with a
+     * conditional update on the seat words of that date only, which fails if another booking took any of them
+     * in the meantime; in that case the date's seats are reloaded and picked again.
+     * Bookings on the same train and date are serialized within this node, so the conditional update only
+     * fails when another node booked the same seats.
+     *
+     * @param train                   The train object; the seats of the travel date are loaded on first use.
+     * @param numberOfSeatsToBeBooked The number of seats requested.
+     * @param travelDate              The travel date.
+     * @return The seat positions that were booked.
+     */
+    @Override
+    public List<List<Integer>> reserveSeats(Train train, int numberOfSeatsToBeBooked, LocalDate travelDate) {
+        return reserveSeats(train, numberOfSeatsToBeBooked, travelDate, (seatMasks, allocations) ->
+                trainSeatInventoryRepository.reserveSeats(train.getPrn(), travelDate, seatMasks)
+                        ? Optional.of(allocations.get(0))
+                        : Optional.empty());
+    }
+
+    /**
+     * Reserves seats for a booking like {@link #reserveSeats(Train, int, LocalDate)}, letting the caller persist the
+     * seats together with the rest of the booking. The commit runs under the lock of the train and date and is
+     * expected to book the seats with a conditional update; if it reports a conflict, the seats are picked again.
+     *
+     * @param train                   The train object; the seats of the travel date are loaded on first use.
+     * @param numberOfSeatsToBeBooked The number of seats requested.
+     * @param travelDate              The travel date.
+     * @param commit                  Persists the picked seats.
+     * @return The result of the commit.
+     */
+    @Override
+    public <T> T reserveSeats(Train train, int numberOfSeatsToBeBooked, LocalDate travelDate, SeatReservationCommit<T> commit) {
+        return inventoryLocks.withLock(train.getPrn(), travelDate, () -> {
+            // Seats read before taking the lock may already be stale
+            if (train.getSeats() != null) {
+                train.getSeats().remove(travelDate.toString());
+            }
+            for (int attempt = 1; attempt <= MAX_RESERVATION_ATTEMPTS; attempt++) {
+                SeatInventory seatInventory = seatsAt(train, travelDate);
+                List<List<Integer>> seatsToBook = (List<List<Integer>>) areSeatsAvailable(train, numberOfSeatsToBeBooked, travelDate).getData();
+                int largestFreeBlock = seatInventory.longestFreeRun();
+
+                Optional<T> committed = commit.commit(seatInventory.wordMasks(seatsToBook), List.of(seatsToBook));
+                if (committed.isPresent()) {
+                    bookSeats(seatsToBook, seatInventory);
+                    updateLargestFreeBlock(train.getPrn(), travelDate, seatInventory, largestFreeBlock);
+                    log.info("Reserved seats {} in train {} on {}", seatsToBook, train.getPrn(), travelDate);
+                    return committed.get();
+                }
+
+                // Another node changed the seats of this date: reload them and pick again
+                log.warn("Seat reservation conflict in train {} on {} (attempt {})", train.getPrn(), travelDate, attempt);
+                train.getSeats().put(travelDate.toString(), loadSeats(train.getPrn(), travelDate));
+            }
+            throw new CustomException(ResponseStatus.SEATS_ALREADY_BOOKED);
+        });
+    }
+
+    /**
+     * Reserves seats for several bookings of the same train and date at once. Seats are picked for each booking in
+     * order from the date's inventory and handed to the commit together, which books all of them with a single
+     * conditional update; if another node took any of them in the meantime, the whole batch is picked again from a
+     * fresh read. A booking that cannot be served does not fail the others.
+     *
+     * @param train      The train object; the seats of the travel date are loaded on first use.
+     * @param seatCounts The number of seats requested by each booking.
+     * @param travelDate The travel date.
+     * @param commit     Persists the picked seats; called with no seat masks when no booking could be served.
+     * @return The result of the commit.
+     */
+    @Override
+    public <T> T reserveSeatsForBookings(Train train, List<Integer> seatCounts, LocalDate travelDate, SeatReservationCommit<T> commit) {
+        return inventoryLocks.withLock(train.getPrn(), travelDate, () -> {
+            if (train.getSeats() != null) {
+                train.getSeats().remove(travelDate.toString());
+            }
+            for (int attempt = 1; attempt <= MAX_RESERVATION_ATTEMPTS; attempt++) {
+                SeatInventory seatInventory = seatsAt(train, travelDate);
+                int largestFreeBlock = seatInventory.longestFreeRun();
+                List<List<List<Integer>>> allocations = new ArrayList<>(seatCounts.size());
+                List<List<Integer>> seatsToBook = new ArrayList<>();
+                for (int numberOfSeatsToBeBooked : seatCounts) {
+                    try {
+                        List<List<Integer>> bookingSeats = (List<List<Integer>>) areSeatsAvailable(train, numberOfSeatsToBeBooked, travelDate).getData();
+                        // Marked in memory right away so the next booking of the batch picks other seats
+                        bookSeats(bookingSeats, seatInventory);
+                        allocations.add(bookingSeats);
+                        seatsToBook.addAll(bookingSeats);
+                    } catch (CustomException e) {
+                        if (e.getErrorCode() != ResponseStatus.NOT_ENOUGH_SEATS) {
+                            throw e;
+                        }
+                        allocations.add(null);
+                    }
+                }
+
+                Optional<T> committed = commit.commit(seatInventory.wordMasks(seatsToBook), allocations);
+                if (committed.isPresent()) {
+                    updateLargestFreeBlock(train.getPrn(), travelDate, seatInventory, largestFreeBlock);
+                    log.info("Reserved {} seats for {} bookings in train {} on {}", seatsToBook.size(), seatCounts.size(), train.getPrn(), travelDate);
+                    return committed.get();
+                }
+
+                log.warn("Seat reservation conflict in train {} on {} (attempt {})", train.getPrn(), travelDate, attempt);
+                train.getSeats().put(travelDate.toString(), loadSeats(train.getPrn(), travelDate));
+            }
+            throw new CustomException(ResponseStatus.SEATS_ALREADY_BOOKED);
+        });
+    }
+
     /**
      * Frees previously booked seats for a train on a specific travel date.
+     * Only the bits of the freed seats are cleared in the seat inventory of that date; the train document is not touched.
+     * The free seat counters of the date are updated with them. Nothing changes if any of the seats is already
+     * free, so freeing the same seats twice cannot give away seats another booking took in between.
      *
      * @param bookedSeats List of seat positions to be freed.
      * @param train       The train object.
@@ -126,15 +285,15 @@ public class TrainServiceImpl implements TrainService {
      */
     @Override
     public void freeTheBookedSeats(List<List<Integer>> bookedSeats, Train train, LocalDate travelDate) {
-        ResponseDataDTO seatsLayout = getSeatsAtParticularDate(train.getPrn(), travelDate);
-        log.info("Seats layout before freeing {}", seatsLayout.getData());
-        if (seatsLayout.isStatus()) {
-            // Retrieve the current seat layout and mark the specified seats as free (0)
-            List<List<Integer>> seatsList = (List<List<Integer>>) seatsLayout.getData();
-            bookedSeats.forEach(seat -> seatsList.get(seat.get(0)).set(seat.get(1), 0));
-            train.getSeats().put(travelDate.toString(), seatsList);
-            log.info("Seats layout after freeing {}", train.getSeats().get(travelDate.toString()));
+        SeatInventory seatInventory = seatsAt(train, travelDate);
+        int largestFreeBlock = seatInventory.longestFreeRun();
+        if (!trainSeatInventoryRepository.releaseSeats(train.getPrn(), travelDate, seatInventory.wordMasks(bookedSeats))) {
+            log.warn("Seats {} of train {} on {} were not all booked, nothing freed", bookedSeats, train.getPrn(), travelDate);
+            return;
         }
+        bookedSeats.forEach(seat -> seatInventory.free(seat.get(0), seat.get(1)));
+        updateLargestFreeBlock(train.getPrn(), travelDate, seatInventory, largestFreeBlock);
+        log.info("Seats {} freed in train {} on {}", bookedSeats, train.getPrn(), travelDate);
     }
 
     /**
@@ -147,17 +306,12 @@ public class TrainServiceImpl implements TrainService {
      */
     @Override
     public LocalDateTime getArrivalAtSourceTime(Train train, String source, LocalDate travelDate) {
-        ResponseDataDTO isScheduleAvailable = getTrainSchedule(train.getPrn(), travelDate);
-        if (isScheduleAvailable.isStatus()) {
-            // Find the arrival time at the source station from the schedule
-            List<StationSchedule> schedules = (List<StationSchedule>) isScheduleAvailable.getData();
-            return schedules.stream()
-                    .filter(schedule -> schedule.getName().equalsIgnoreCase(source))
-                    .map(StationSchedule::getArrivalTime)
-                    .findFirst()
-                    .orElse(null);
+        // Look up the station in the compiled schedule of the already loaded train
+        CompiledSchedule schedule = train.getCompiledSchedule(travelDate);
+        if (schedule == null) {
+            return null;
         }
-        return null;
+        return schedule.arrivalAt(StationNames.canonical(source));
     }
 
     /**
@@ -169,12 +323,14 @@ public class TrainServiceImpl implements TrainService {
      */
     @Override
     public ResponseDataDTO getTrainSchedule(String trainPrn, LocalDate travelDate) {
-        Train train = trainRepositoryV2.findById(trainPrn).orElse(null);
+        // Only the requested date's schedule is read from the train document
+        Train train = trainRepositoryV2.findByIdWithScheduleOf(trainPrn, travelDate).orElse(null);
         if (train == null) {
             throw new CustomException("Train does not exist with PRN: " + trainPrn, ResponseStatus.TRAIN_NOT_FOUND);
 
         }
-        return new ResponseDataDTO(true, String.format("Schedule of train %s fetched successfully", trainPrn), train.getSchedules().get(travelDate.toString()));
+        List<StationSchedule> schedule = train.getSchedules() == null ? null : train.getSchedules().get(travelDate.toString());
+        return new ResponseDataDTO(true, String.format("Schedule of train %s fetched successfully", trainPrn), schedule);
     }
 
     /**
@@ -186,38 +342,118 @@ public class TrainServiceImpl implements TrainService {
      */
     @Override
     public ResponseDataDTO getSeatsAtParticularDate(String trainPrn, LocalDate travelDate) {
-        Train train = trainRepositoryV2.findById(trainPrn).orElse(null);
-        if (train == null) {
+        SeatInventory seats = loadSeats(trainPrn, travelDate);
+        if (seats == null && !trainRepositoryV2.existsById(trainPrn)) {
             throw new CustomException("Train does not exist with PRN: " + trainPrn, ResponseStatus.TRAIN_NOT_FOUND);
 
         }
-        return new ResponseDataDTO(true, String.format("Seats of train %s fetched successfully", trainPrn), train.getSeats().get(travelDate.toString()));
+        return new ResponseDataDTO(true, String.format("Seats of train %s fetched successfully", trainPrn), seats);
     }
 
     /**
-     * Searches for trains between a source and destination on a specific travel date.
+     * Searches for trains between a source and destination on a specific travel date, one page at a time,
+     * ordered by departure from the source.
+     * Every result is a summary of the train between the two stations with the free seat counters of that date.
+     * The matches are read off a projection cursor and only the page being built is kept, so memory and the
+     * seat counter lookup stay bounded by the page size however many trains serve the route.
      *
      * @param source      The source station name.
      * @param destination The destination station name.
      * @param travelDate  The travel date.
-     * @return ResponseDataDTO containing the search results.
+     * @param cursor      The next cursor of the previous page, or null for the first page.
+     * @param pageSize    The maximum number of trains on the page, or null for the default.
+     * @return ResponseDataDTO containing the page of trains.
      */
     @Override
-    public ResponseDataDTO searchTrains(String source, String destination, LocalDate travelDate) {
+    public ResponseDataDTO searchTrains(String source, String destination, LocalDate travelDate, String cursor, Integer pageSize) {
         log.info("Searching trains from {} to {}", source, destination);
-        // Filter trains that are valid for the given source, destination, and travel date
-        List<Train> trains = trainRepositoryV2.findAll()
-                .stream()
-                .filter(train -> trainServiceUtil.validTrain(source, destination, travelDate, train))
-                .collect(Collectors.toList());
-
-        Map<String, Object> result = Map.of(
-                "totalTrains", trains.size(),
-                "trainsData", trains
-        );
-
-        log.info("Found {} trains from {} to {}", trains.size(), source, destination);
-        return new ResponseDataDTO(true, "Trains fetched", result);
+        int limit = pageSize == null ? DEFAULT_SEARCH_PAGE_SIZE : pageSize;
+        if (limit < 1 || limit > MAX_SEARCH_PAGE_SIZE) {
+            throw new CustomException(String.format("Page size must be between 1 and %d", MAX_SEARCH_PAGE_SIZE),
+                    ResponseStatus.INVALID_DATA);
+        }
+        TrainSummaryDTO after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+
+        // Keep the first limit + 1 trains after the cursor, the extra one telling whether a next page exists.
+        // The queue is reversed so the train that falls off the page is the one polled.
+        PriorityQueue<TrainSummaryDTO> firstTrains = new PriorityQueue<>(limit + 2, DEPARTURE_ORDER.reversed());
+        int totalTrains = forEachMatch(source, destination, travelDate, summary -> {
+            if (after == null || DEPARTURE_ORDER.compare(summary, after) > 0) {
+                firstTrains.add(summary);
+                if (firstTrains.size() > limit + 1) {
+                    firstTrains.poll();
+                }
+            }
+        });
+
+        List<TrainSummaryDTO> trains = new ArrayList<>(firstTrains);
+        trains.sort(DEPARTURE_ORDER);
+        String nextCursor = null;
+        if (trains.size() > limit) {
+            trains = trains.subList(0, limit);
+            nextCursor = encodeCursor(trains.get(limit - 1));
+        }
+        // Free seat counters of the page with one more query; no seat words are read
+        fillAvailability(trains, travelDate);
+
+        log.info("Found {} trains from {} to {}, returning {}", totalTrains, source, destination, trains.size());
+        return new ResponseDataDTO(true, "Trains fetched", new TrainSearchPageDTO(totalTrains, trains, nextCursor));
+    }
+
+    /**
+     * Hands every train between a source and destination on a date to the consumer as it is read, in no particular order.
+     * Free seat counters are looked up for a few trains at a time, so nothing grows with the number of results.
+     *
+     * @param source      The source station name.
+     * @param destination The destination station name.
+     * @param travelDate  The travel date.
+     * @param consumer    Receives each summary.
+     * @return The number of trains found.
+     */
+    @Override
+    public int streamTrains(String source, String destination, LocalDate travelDate, Consumer<TrainSummaryDTO> consumer) {
+        log.info("Streaming trains from {} to {}", source, destination);
+        List<TrainSummaryDTO> batch = new ArrayList<>(AVAILABILITY_BATCH_SIZE);
+        int totalTrains = forEachMatch(source, destination, travelDate, summary -> {
+            batch.add(summary);
+            if (batch.size() == AVAILABILITY_BATCH_SIZE) {
+                fillAvailability(batch, travelDate);
+                batch.forEach(consumer);
+                batch.clear();
+            }
+        });
+        fillAvailability(batch, travelDate);
+        batch.forEach(consumer);
+
+        log.info("Streamed {} trains from {} to {}", totalTrains, source, destination);
+        return totalTrains;
+    }
+
+    /**
+     * Retrieves the full details of a train, the counterpart of the summaries returned by search.
+     * With a travel date, the seat layout and free seat counters of that date are included.
+     *
+     * @param trainPrn   The PRN of the train.
+     * @param travelDate The travel date, or null for the train without seats.
+     * @return ResponseDataDTO containing the train.
+     */
+    @Override
+    public ResponseDataDTO getTrainDetails(String trainPrn, LocalDate travelDate) {
+        // The cache hands out copies, so filling in seats does not leak into other callers
+        Train train = trainCacheService.findTrain(trainPrn).orElse(null);
+        if (train == null) {
+            throw new CustomException("Train does not exist with PRN: " + trainPrn, ResponseStatus.TRAIN_NOT_FOUND);
+        }
+        if (travelDate != null) {
+            SeatInventory seats = loadSeats(trainPrn, travelDate);
+            if (seats != null) {
+                Map<String, SeatInventory> seatsOfDate = new HashMap<>();
+                seatsOfDate.put(travelDate.toString(), seats);
+                train.setSeats(seatsOfDate);
+            }
+            train.setAvailability(trainSeatInventoryRepository.findAvailability(List.of(trainPrn), travelDate).get(trainPrn));
+        }
+        return new ResponseDataDTO(true, String.format("Details of train %s fetched successfully", trainPrn), train);
     }
 
     /**
@@ -233,7 +469,7 @@ public class TrainServiceImpl implements TrainService {
     public ResponseDataDTO canBeBooked(String trainPrn, String source, String destination, LocalDate travelDate) {
         log.info("Checking if train can be booked: {}", trainPrn);
         // Retrieve the train by PRN
-        Train train = trainRepositoryV2.findById(trainPrn).orElse(null);
+        Train train = trainCacheService.findTrain(trainPrn).orElse(null);
 
         // Train not found
         if (train == null) {
@@ -253,14 +489,14 @@ public class TrainServiceImpl implements TrainService {
     }
 
     /**
-     * Finds a train by its PRN.
+     * Finds a train by its PRN. Served from the train cache; the seats are loaded separately when needed.
      *
      * @param prn The PRN of the train.
      * @return An Optional containing the train if found.
      */
     @Override
     public Optional<Train> findTrainByPrn(String prn) {
-        return trainRepositoryV2.findById(prn);
+        return trainCacheService.findTrain(prn);
     }
 
     /**
@@ -274,11 +510,12 @@ public class TrainServiceImpl implements TrainService {
     @Override
     public ResponseDataDTO areSeatsAvailable(Train train, int numberOfSeatsToBeBooked, LocalDate travelDate) {
         log.info("Checking seat availability for train {}: {} seats requested", train.getPrn(), numberOfSeatsToBeBooked);
-        List<List<Integer>> allSeats = train.getSeats().get(travelDate.toString());
-        List<List<Integer>> availableSeats = new ArrayList<>();
+        if (numberOfSeatsToBeBooked < 1) {
+            throw new CustomException("Number of seats must be at least 1", ResponseStatus.INVALID_DATA);
+        }
+        SeatInventory allSeats = seatsAt(train, travelDate);
 
-        int totalSeats = allSeats.size() * allSeats.get(0).size(); // Total number of seats
-        int foundSeats = 0;
+        int totalSeats = allSeats.totalSeats(); // Total number of seats
 
         // If the requested number of seats exceeds the total number of seats
         if (numberOfSeatsToBeBooked > totalSeats) {
@@ -287,51 +524,166 @@ public class TrainServiceImpl implements TrainService {
 
         }
 
-        int foundContinuousSeats = 0;
-        // Try to find continuous seats first
-        for (int index = 0; index < totalSeats; index++) {
-            int row = index / allSeats.get(0).size(); // Row number
-            int col = index % allSeats.get(0).size(); // Column number
-
-            // Reset counter and available seats if a booked seat is found
-            if (allSeats.get(row).get(col) == 1) {
-                foundContinuousSeats = 0;
-                availableSeats = new ArrayList<>();
-            } else {
-                foundContinuousSeats++;
-                availableSeats.add(Arrays.asList(row, col));
-            }
+        // Fail fast when the train cannot hold the request even with separate seats
+        int freeSeatCount = allSeats.freeCount();
+        if (numberOfSeatsToBeBooked > freeSeatCount) {
+            log.warn("Not enough seats available in train {}: requested {} seats, found {} seats", train.getPrn(), numberOfSeatsToBeBooked, freeSeatCount);
+            throw new CustomException("Not enough seats available", ResponseStatus.NOT_ENOUGH_SEATS);
+        }
 
-            // If enough continuous seats are found
-            if (foundContinuousSeats == numberOfSeatsToBeBooked) {
-                log.info("Found {} available continuous seats in train {}", numberOfSeatsToBeBooked, train.getPrn());
-                return new ResponseDataDTO(true, "Seats found", availableSeats);
+        // Try to find continuous seats first (O(log n) lookup in the free run index)
+        int firstSeat = allSeats.findContiguousFree(numberOfSeatsToBeBooked);
+        if (firstSeat != -1) {
+            List<List<Integer>> availableSeats = new ArrayList<>(numberOfSeatsToBeBooked);
+            for (int seat = firstSeat; seat < firstSeat + numberOfSeatsToBeBooked; seat++) {
+                availableSeats.add(List.of(allSeats.rowOf(seat), allSeats.colOf(seat)));
             }
+            log.info("Found {} available continuous seats in train {}", numberOfSeatsToBeBooked, train.getPrn());
+            return new ResponseDataDTO(true, "Seats found", availableSeats);
         }
 
         // Continuous seats not found; try to find separate seats
-        log.info("Continuous seats not found", numberOfSeatsToBeBooked, train.getPrn());
-        availableSeats = new ArrayList<>();
+        log.info("Continuous seats not found for {} seats in train {}", numberOfSeatsToBeBooked, train.getPrn());
+        int[] freeSeats = allSeats.findFree(numberOfSeatsToBeBooked);
+        if (freeSeats != null) {
+            List<List<Integer>> availableSeats = new ArrayList<>(numberOfSeatsToBeBooked);
+            for (int seat : freeSeats) {
+                availableSeats.add(List.of(allSeats.rowOf(seat), allSeats.colOf(seat)));
+            }
+            log.info("Found {} available seats in train {}", numberOfSeatsToBeBooked, train.getPrn());
+            return new ResponseDataDTO(true, "Seats found", availableSeats);
+        }
+
+        // Not enough seats found
+        log.warn("Not enough seats available in train {}: requested {} seats, found {} seats", train.getPrn(), numberOfSeatsToBeBooked, allSeats.freeCount());
+        throw new CustomException("Not enough seats available", ResponseStatus.NOT_ENOUGH_SEATS);
 
-        for (int index = 0; index < totalSeats; index++) {
-            int row = index / allSeats.get(0).size(); // Row number
-            int col = index % allSeats.get(0).size(); // Column number
+    }
+
+    /**
+     * Stores the longest run of free seats of a date when a booking or cancellation of this node changed it.
+     * The counter is only a hint for search, so a failed write does not fail the booking.
+     *
+     * @param trainPrn         The PRN of the train.
+     * @param travelDate       The travel date.
+     * @param seatInventory    The seats of the date after the change.
+     * @param largestFreeBlock The longest run of free seats before the change.
+     */
+    private void updateLargestFreeBlock(String trainPrn, LocalDate travelDate, SeatInventory seatInventory, int largestFreeBlock) {
+        int updatedLargestFreeBlock = seatInventory.longestFreeRun();
+        if (updatedLargestFreeBlock == largestFreeBlock) {
+            return;
+        }
+        try {
+            trainSeatInventoryRepository.updateLargestFreeBlock(trainPrn, travelDate, updatedLargestFreeBlock);
+        } catch (Exception e) {
+            log.warn("Could not update the largest free block of train {} on {}: {}", trainPrn, travelDate, e.getMessage());
+        }
+    }
 
-            if (allSeats.get(row).get(col) == 0) { // If seat is available
-                availableSeats.add(Arrays.asList(row, col));
-                foundSeats++;
+    /**
+     * Returns the seats of a train on a date, loading them into the train on first use.
+     *
+     * @param train      The train object.
+     * @param travelDate The travel date.
+     * @return The seat inventory of the date.
+     */
+    private SeatInventory seatsAt(Train train, LocalDate travelDate) {
+        if (train.getSeats() == null) {
+            train.setSeats(new HashMap<>());
+        }
+        SeatInventory seats = train.getSeats().computeIfAbsent(travelDate.toString(), date -> loadSeats(train.getPrn(), travelDate));
+        if (seats == null) {
+            throw new CustomException(String.format("Train %s has no seats on %s", train.getPrn(), travelDate),
+                    ResponseStatus.INVALID_DATA);
+        }
+        return seats;
+    }
 
-                // If enough separate seats are found
-                if (foundSeats == numberOfSeatsToBeBooked) {
-                    log.info("Found {} available seats in train {}", numberOfSeatsToBeBooked, train.getPrn());
-                    return new ResponseDataDTO(true, "Seats found", availableSeats);
+    /**
+     * Summarizes every train that stops at the source before the destination on the date, reading the candidates
+     * of the route index through a projection cursor. Summaries are handed over without seat counters.
+     *
+     * @return The number of trains found.
+     */
+    private int forEachMatch(String source, String destination, LocalDate travelDate, Consumer<TrainSummaryDTO> consumer) {
+        String canonicalSource = StationNames.canonical(source);
+        String canonicalDestination = StationNames.canonical(destination);
+
+        // Only read the trains the route index lists for this station pair and date
+        Set<String> candidateTrainPrns = routeIndexService.findCandidateTrains(source, destination, travelDate);
+
+        int matches = 0;
+        try (Stream<Train> trains = trainRepositoryV2.streamAllByIdWithScheduleOf(candidateTrainPrns, travelDate)) {
+            for (Train train : (Iterable<Train>) trains::iterator) {
+                if (trainServiceUtil.validTrain(canonicalSource, canonicalDestination, travelDate, train)) {
+                    consumer.accept(trainServiceUtil.summarize(train, source, destination, travelDate, null));
+                    matches++;
                 }
             }
         }
+        return matches;
+    }
 
-        // Not enough seats found
-        log.warn("Not enough seats available in train {}: requested {} seats, found {} seats", train.getPrn(), numberOfSeatsToBeBooked, foundSeats);
-        throw new CustomException("Not enough seats available", ResponseStatus.NOT_ENOUGH_SEATS);
+    /**
+     * Sets the free seat counters of the date on the given summaries with one query.
+     */
+    private void fillAvailability(List<TrainSummaryDTO> summaries, LocalDate travelDate) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+        Map<String, SeatAvailability> availability = trainSeatInventoryRepository.findAvailability(
+                summaries.stream().map(TrainSummaryDTO::getPrn).toList(), travelDate);
+        summaries.forEach(summary -> summary.setAvailability(availability.get(summary.getPrn())));
+    }
 
+    /**
+     * The cursor is the position of the last train of a page, (departure time, PRN), in URL-safe Base64.
+     */
+    private static String encodeCursor(TrainSummaryDTO lastTrain) {
+        String departureTime = lastTrain.getDepartureTime() == null ? "" : lastTrain.getDepartureTime().toString();
+        String position = departureTime + CURSOR_SEPARATOR + lastTrain.getPrn();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TrainSummaryDTO decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(Pattern.quote(CURSOR_SEPARATOR), 2);
+            if (position.length == 2) {
+                return TrainSummaryDTO.builder()
+                        .departureTime(position[0].isEmpty() ? null : LocalDateTime.parse(position[0]))
+                        .prn(position[1])
+                        .build();
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            log.warn("Invalid search cursor: {}", cursor);
+        }
+        throw new CustomException("Invalid cursor", ResponseStatus.INVALID_DATA);
+    }
+
+    /**
+     * Reads the seat inventory of a train on a date, migrating it from the train document if it was not moved yet.
+     *
+     * @param trainPrn   The PRN of the train.
+     * @param travelDate The travel date.
+     * @return The seat inventory, or null if the train has no seats on that date.
+     */
+    private SeatInventory loadSeats(String trainPrn, LocalDate travelDate) {
+        return trainSeatInventoryRepository.findSeats(trainPrn, travelDate)
+                .or(() -> seatInventoryMigration.migrateTrainDate(trainPrn, travelDate))
+                .orElse(null);
+    }
+
+    /**
+     * Stores the seats carried by the given trains, one seat inventory document per train and date.
+     *
+     * @param trains The trains whose seats are to be stored.
+     */
+    private void saveSeatInventories(List<Train> trains) {
+        List<TrainSeatInventory> inventories = TrainSeatInventory.forTrains(trains);
+        if (!inventories.isEmpty()) {
+            trainSeatInventoryRepository.saveAll(inventories);
+        }
     }
-}
\ No newline at end of file
+}
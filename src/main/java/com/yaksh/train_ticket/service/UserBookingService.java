@@ -17,20 +17,6 @@ import java.util.List;
  */
 public interface UserBookingService {
 
-    /**
-     * Sets the currently logged-in user.
-     * This is used to maintain the session state of the user interacting with the system.
-     * @param user The user to set as the logged-in user.
-     */
-    void setLoggedInUser(User user);
-
-    /**
-     * Retrieves the currently logged-in user.
-     * Useful for accessing user-specific information during the session.
-     * @return The logged-in user.
-     */
-    User getLoggedInUser();
-
     /**
      * Retrieves the list of all users.
      * This can be used for administrative purposes or to display user information.
@@ -40,10 +26,10 @@ public interface UserBookingService {
 
     /**
      * Authenticates a user using their email and password.
-     * Validates the credentials and returns a response indicating success or failure.
+     * Validates the credentials and issues a session token that identifies the user on later requests.
      * @param userEmail The email of the user.
      * @param Password The password of the user.
-     * @return A ResponseDataDTO containing the result of the login operation.
+     * @return A ResponseDataDTO containing the session token and the user.
      */
     ResponseDataDTO loginUser(String userEmail, String Password);
 
@@ -59,6 +45,7 @@ public interface UserBookingService {
     /**
      * Books a train ticket for the specified train, source, destination, date of travel, and number of seats.
      * Checks for seat availability and processes the booking if possible.
+     * @param userId The ID of the user making the booking, resolved from the session token.
      * @param trainPrn The PRN (Passenger Reservation Number) of the train.
      * @param source The source station.
      * @param destination The destination station.
@@ -66,39 +53,55 @@ public interface UserBookingService {
      * @param numberOfSeatsToBeBooked The number of seats to book.
      * @return A ResponseDataDTO containing the result of the booking operation.
      */
-    ResponseDataDTO bookTicket(String trainPrn, String source, String destination, LocalDate dateOfTravel, int numberOfSeatsToBeBooked);
+    ResponseDataDTO bookTicket(String userId, String trainPrn, String source, String destination, LocalDate dateOfTravel, int numberOfSeatsToBeBooked);
+
+    /**
+     * Fetches one page of the tickets booked by the user, ordered by date of travel.
+     * @param userId The ID of the user, resolved from the session token.
+     * @param fromDate The earliest date of travel, or null.
+     * @param toDate The latest date of travel, or null.
+     * @param cursor The next cursor of the previous page, or null for the first page.
+     * @param pageSize The maximum number of tickets on the page, or null for the default.
+     * @return A ResponseDataDTO containing a TicketPageDTO.
+     */
+    ResponseDataDTO fetchTickets(String userId, LocalDate fromDate, LocalDate toDate, String cursor, Integer pageSize);
 
     /**
-     * Fetches all tickets booked by the logged-in user.
-     * This provides a history of all bookings made by the user.
-     * @return A ResponseDataDTO containing the list of all tickets.
+     * Counts the tickets booked by the user.
+     * @param userId The ID of the user, resolved from the session token.
+     * @param fromDate The earliest date of travel, or null.
+     * @param toDate The latest date of travel, or null.
+     * @return A ResponseDataDTO containing the number of tickets.
      */
-    ResponseDataDTO fetchAllTickets();
+    ResponseDataDTO countTickets(String userId, LocalDate fromDate, LocalDate toDate);
 
     /**
      * Cancels a ticket with the given ticket ID.
      * The cancellation process might involve refunding the user based on the cancellation policy.
+     * @param userId The ID of the user, resolved from the session token.
      * @param IdOfTicketToCancel The ID of the ticket to cancel.
      * @return A ResponseDataDTO containing the result of the cancellation operation.
      */
-    ResponseDataDTO cancelTicket(String IdOfTicketToCancel);
+    ResponseDataDTO cancelTicket(String userId, String IdOfTicketToCancel);
 
     /**
      * Fetches a ticket by its ID.
-     * Useful for retrieving specific ticket details for the logged-in user.
+     * Useful for retrieving specific ticket details for the user.
+     * @param userId The ID of the user, resolved from the session token.
      * @param IdOfTicketToFind The ID of the ticket to fetch.
      * @return A ResponseDataDTO containing the ticket details.
      */
-    ResponseDataDTO fetchTicketById(String IdOfTicketToFind);
+    ResponseDataDTO fetchTicketById(String userId, String IdOfTicketToFind);
 
     /**
      * Reschedules a ticket to a new travel date.
      * Ensures that the new date is valid and that seats are available for rescheduling.
+     * @param userId The ID of the user, resolved from the session token.
      * @param ticketId The ID of the ticket to reschedule.
      * @param updatedTravelDate The new travel date.
      * @return A ResponseDataDTO containing the result of the rescheduling operation.
      */
-    ResponseDataDTO rescheduleTicket(String ticketId, LocalDate updatedTravelDate);
+    ResponseDataDTO rescheduleTicket(String userId, String ticketId, LocalDate updatedTravelDate);
 
     // Note: Booking logic should support booking tickets for different dates, with train seat availability checked for the specified date.
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.yaksh.train_ticket.service;
 
 import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+import com.yaksh.train_ticket.DTO.TicketPageDTO;
 import com.yaksh.train_ticket.enums.ResponseStatus;
 import com.yaksh.train_ticket.exceptions.CustomException;
 import com.yaksh.train_ticket.model.Ticket;
@@ -12,10 +13,14 @@ import com.yaksh.train_ticket.util.ValidationChecks;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.regex.Pattern;
 
 /**
  * Service implementation for user booking-related operations.
@@ -26,7 +31,10 @@ import java.util.*;
 @RequiredArgsConstructor
 @Slf4j
 public class UserBookingServiceImpl implements UserBookingService {
-    private User loggedInUser; // Currently logged-in user
+    private static final int DEFAULT_TICKET_PAGE_SIZE = 20;
+    private static final int MAX_TICKET_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = "|";
+
     private final UserServiceUtil userServiceUtil;
     private final ValidationChecks validationChecks;
     private final UserRepositoryV2 userRepositoryV2;
@@ -34,28 +42,9 @@ public class UserBookingServiceImpl implements UserBookingService {
     // Dependencies for ticket and train services
     private final TicketService ticketService;
     private final TrainService trainService;
-
-    /**
-     * Sets the logged-in user.
-     *
-     * @param user The user object to set as logged-in.
-     */
-    @Override
-    public void setLoggedInUser(User user) {
-        this.loggedInUser = user;
-        log.info("User logged in as: {}", user.getUserEmail());
-    }
-
-    /**
-     * Gets the currently logged-in user.
-     *
-     * @return The logged-in user object.
-     */
-    @Override
-    public User getLoggedInUser() {
-        log.debug("Retrieving logged in user");
-        return this.loggedInUser;
-    }
+    private final SessionTokenService sessionTokenService;
+    private final BookingCoalescer bookingCoalescer;
+    private final BookingCommitService bookingCommitService;
 
     /**
      * Retrieves the list of all users.
@@ -73,7 +62,7 @@ public class UserBookingServiceImpl implements UserBookingService {
      *
      * @param userEmail The username of the user.
      * @param password The password of the user.
-     * @return ResponseDataDTO containing login result.
+     * @return ResponseDataDTO containing the session token and the user.
      */
     @Override
     public ResponseDataDTO loginUser(String userEmail, String password) {
@@ -88,11 +77,35 @@ public class UserBookingServiceImpl implements UserBookingService {
                     if (!userServiceUtil.checkPassword(password, user.getHashedPassword())) {
                         throw new CustomException(ResponseStatus.PASSWORD_INCORRECT);
                     }
-                    return new ResponseDataDTO(true, "User Found", user);
+                    rehashIfCostChanged(user, password);
+                    // The token identifies the user on every later request, on any node
+                    String token = sessionTokenService.issueToken(user);
+                    return new ResponseDataDTO(true, "User Found", Map.of("token", token, "user", user));
                 })
                 .orElseThrow(() -> new CustomException(ResponseStatus.USER_NOT_FOUND));
     }
 
+    /**
+     * Re-hashes the password of a user whose stored hash uses an outdated BCrypt work factor.
+     * The login still succeeds if the rehash cannot be done now; it is retried on the next login.
+     *
+     * @param user     The user who just logged in.
+     * @param password The verified plain text password.
+     */
+    private void rehashIfCostChanged(User user, String password) {
+        if (!userServiceUtil.needsRehash(user.getHashedPassword())) {
+            return;
+        }
+        try {
+            String rehashedPassword = userServiceUtil.hashPassword(password);
+            userRepositoryV2.updateHashedPassword(user.getUserId(), rehashedPassword);
+            user.setHashedPassword(rehashedPassword);
+            log.info("Rehashed password of user {} with the current work factor", user.getUserId());
+        } catch (Exception e) {
+            log.warn("Could not rehash password of user {}: {}", user.getUserId(), e.getMessage());
+        }
+    }
+
     /**
      * Signs up a new user with the provided username and password.
      *
@@ -113,15 +126,20 @@ public class UserBookingServiceImpl implements UserBookingService {
             log.warn("Signup failed - user already exists: {}", userEmail);
             throw new CustomException(ResponseStatus.USER_ALREADY_EXISTS);
         }
+        // Hash outside the try block so a busy hashing pool is reported as SERVICE_BUSY
+        String hashedPassword = userServiceUtil.hashPassword(password);
         try {
-            // Create a new user and hash the password
-            User user = new User(UUID.randomUUID().toString(), userEmail,
-                    userServiceUtil.hashPassword(password), new ArrayList<>());
+            // Create a new user with the hashed password
+            User user = new User(UUID.randomUUID().toString(), userEmail, hashedPassword);
 
             // Save the user in the repository
             User savedUser = userRepositoryV2.save(user);
 
             return new ResponseDataDTO(true, "User Saved in the collection", savedUser);
+        } catch (DuplicateKeyException e) {
+            // A concurrent signup with the same email won the unique userEmail index
+            log.warn("Signup failed - user already exists: {}", userEmail);
+            throw new CustomException(ResponseStatus.USER_ALREADY_EXISTS);
         } catch (Exception e) {
             log.error("Error while saving user in the collection: {}", e.getMessage(), e);
             throw new CustomException("Error while saving user in the collection: " + e.getMessage(),
@@ -130,8 +148,9 @@ public class UserBookingServiceImpl implements UserBookingService {
     }
 
     /**
-     * Books a ticket for the logged-in user.
+     * Books a ticket for a user.
      *
+     * @param userId                The ID of the user, resolved from the session token.
      * @param trainPrn              The train's PRN.
      * @param source                The source station.
      * @param destination           The destination station.
@@ -140,20 +159,17 @@ public class UserBookingServiceImpl implements UserBookingService {
      * @return ResponseDataDTO containing booking result.
      */
     @Override
-    public ResponseDataDTO bookTicket(String trainPrn, String source, String destination,
+    public ResponseDataDTO bookTicket(String userId, String trainPrn, String source, String destination,
                                       LocalDate dateOfTravel, int numberOfSeatsToBeBooked) {
-        log.info("Booking attempt - Train: {}, Seats: {}", trainPrn, numberOfSeatsToBeBooked);
-
-        // Ensure the user is logged in
-        if (loggedInUser == null) {
-            log.warn("Unauthorized booking attempt - no logged in user");
-            throw new CustomException("Please log in to book the ticket", ResponseStatus.USER_NOT_FOUND);
-        }
+        log.info("Booking attempt - User: {}, Train: {}, Seats: {}", userId, trainPrn, numberOfSeatsToBeBooked);
 
         // Ensure the travel date is not in the past
         if (dateOfTravel.isBefore(LocalDate.now())) {
             throw new CustomException("Date of travel cannot be in the past", ResponseStatus.INVALID_DATA);
         }
+        if (numberOfSeatsToBeBooked < 1) {
+            throw new CustomException("Number of seats must be at least 1", ResponseStatus.INVALID_DATA);
+        }
 
         // Check if the train can be booked
         ResponseDataDTO canBeBooked = trainService.canBeBooked(trainPrn, source, destination, dateOfTravel);
@@ -161,137 +177,114 @@ public class UserBookingServiceImpl implements UserBookingService {
         // Retrieve train details
         Train train = (Train) canBeBooked.getData();
 
-        // Check seat availability
-        ResponseDataDTO availableSeatsDTO = trainService.areSeatsAvailable(train, numberOfSeatsToBeBooked, dateOfTravel);
-
-        // Retrieve seat availability data
-        List<List<Integer>> allSeats = train.getSeats().get(dateOfTravel.toString());
-        List<List<Integer>> availableSeatsList;
-        Object data = availableSeatsDTO.getData();
-        if (data instanceof List<?>) {
-            availableSeatsList = (List<List<Integer>>) data;
-        } else {
-            log.warn("Unexpected data type received for available seats: {}", data.getClass());
-            throw new CustomException("Invalid seat data received.", ResponseStatus.INVALID_DATA);
+        // Concurrent bookings of this train and date are allocated and written together
+        if (bookingCoalescer.isEnabled()) {
+            Ticket ticket = bookingCoalescer.book(userId, train, source, destination, dateOfTravel, numberOfSeatsToBeBooked);
+            return new ResponseDataDTO(true, "Ticket Booked with ID: " + ticket.getTicketId(), ticket);
         }
 
-        // Book seats by marking them as booked in the train's seat map
-        trainService.bookSeats(availableSeatsList, allSeats);
-
-        try {
-            // Save the ticket in the ticket database
-            log.info("Saving ticket in the DB");
-            Ticket ticket = ticketService.createNewTicket(
-                    loggedInUser.getUserId(),
+        // Pick free seats, then book them and insert the ticket as one commit
+        Ticket ticket = trainService.reserveSeats(train, numberOfSeatsToBeBooked, dateOfTravel, (seatMasks, allocations) -> {
+            Ticket newTicket = ticketService.buildTicket(
+                    userId,
                     train.getPrn(),
                     dateOfTravel,
                     source,
                     destination,
-                    availableSeatsList,
+                    allocations.get(0),
                     trainService.getArrivalAtSourceTime(train, source, dateOfTravel),
                     trainService.getArrivalAtSourceTime(train, destination, dateOfTravel)
             );
-            if (ticket == null) {
-                throw new CustomException("Error while booking ticket: not saved in the DB",
-                        ResponseStatus.TICKET_NOT_BOOKED);
-            }
+            return bookingCommitService.commit(train.getPrn(), dateOfTravel, seatMasks, List.of(newTicket))
+                    ? Optional.of(newTicket)
+                    : Optional.empty();
+        });
+        log.info("Ticket {} booked", ticket.getTicketId());
 
-            // Update the user's booked ticket list
-            loggedInUser.getTicketsBooked().add(ticket);
-            log.info("Updating logged in user ticket list");
+        return new ResponseDataDTO(true, "Ticket Booked with ID: " + ticket.getTicketId(), ticket);
+    }
 
-            // Save the updated user in the user database
-            userRepositoryV2.save(loggedInUser);
-            log.info("Saving user in the DB");
+    /**
+     * Fetches one page of the tickets booked by a user, read through the userId index of the tickets collection.
+     * One extra ticket is loaded to know whether a next page exists.
+     *
+     * @param userId   The ID of the user, resolved from the session token.
+     * @param fromDate The earliest date of travel, or null.
+     * @param toDate   The latest date of travel, or null.
+     * @param cursor   The next cursor of the previous page, or null for the first page.
+     * @param pageSize The maximum number of tickets on the page, or null for the default.
+     * @return ResponseDataDTO containing the page of tickets.
+     */
+    @Override
+    public ResponseDataDTO fetchTickets(String userId, LocalDate fromDate, LocalDate toDate, String cursor, Integer pageSize) {
+        log.info("Fetching tickets for user {} from {} to {}", userId, fromDate, toDate);
+        checkDateRange(fromDate, toDate);
+        int limit = pageSize == null ? DEFAULT_TICKET_PAGE_SIZE : pageSize;
+        if (limit < 1 || limit > MAX_TICKET_PAGE_SIZE) {
+            throw new CustomException(String.format("Page size must be between 1 and %d", MAX_TICKET_PAGE_SIZE),
+                    ResponseStatus.INVALID_DATA);
+        }
 
-            // Update the train in the train database
-            trainService.updateTrain(train);
-            log.info("Updating train in the DB");
+        LocalDate afterDate = null;
+        String afterTicketId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            afterDate = LocalDate.parse(position[0]);
+            afterTicketId = position[1];
+        }
 
-            return new ResponseDataDTO(true, "Ticket Booked with ID: " + ticket.getTicketId(), ticket);
-        } catch (Exception e) {
-            log.error("Error while booking ticket: {}", e.getMessage(), e);
-            throw new CustomException("Error while booking ticket: " + e.getMessage(), ResponseStatus.TICKET_NOT_BOOKED);
+        List<Ticket> tickets = ticketService.findTicketsOfUser(userId, fromDate, toDate, afterDate, afterTicketId, limit + 1);
+        String nextCursor = null;
+        if (tickets.size() > limit) {
+            tickets = tickets.subList(0, limit);
+            nextCursor = encodeCursor(tickets.get(limit - 1));
         }
+        return new ResponseDataDTO(true, "Tickets fetched", new TicketPageDTO(tickets, nextCursor));
     }
 
     /**
-     * Fetches all tickets booked by the logged-in user.
+     * Counts the tickets booked by a user.
      *
-     * @return ResponseDataDTO containing the list of tickets.
+     * @param userId   The ID of the user, resolved from the session token.
+     * @param fromDate The earliest date of travel, or null.
+     * @param toDate   The latest date of travel, or null.
+     * @return ResponseDataDTO containing the number of tickets.
      */
     @Override
-    public ResponseDataDTO fetchAllTickets() {
-        log.info("Fetching all tickets for logged in user");
-
-        // Ensure the user is logged in
-        if (loggedInUser == null) {
-            log.warn("Unauthorized ticket fetch attempt - no logged in user");
-            throw new CustomException("Please log in to book the ticket", ResponseStatus.USER_NOT_FOUND);
-        }
-
-        return new ResponseDataDTO(true, "Tickets fetched", loggedInUser.getTicketsBooked());
+    public ResponseDataDTO countTickets(String userId, LocalDate fromDate, LocalDate toDate) {
+        checkDateRange(fromDate, toDate);
+        long count = ticketService.countTicketsOfUser(userId, fromDate, toDate);
+        return new ResponseDataDTO(true, "Tickets counted", Map.of("count", count));
     }
 
     /**
-     * Cancels a ticket for the logged-in user.
+     * Cancels a ticket of a user. The ticket is deleted first and its seats are only freed by the call that
+     * deleted it, so cancelling the same ticket twice cannot free seats that were booked again in between.
      *
+     * @param userId             The ID of the user, resolved from the session token.
      * @param idOfTicketToCancel The ID of the ticket to cancel.
      * @return ResponseDataDTO containing cancellation result.
      */
     @Override
-    public ResponseDataDTO cancelTicket(String idOfTicketToCancel) {
-        // Ensure the user is logged in
-        if (loggedInUser == null) {
-            log.warn("Unauthorized ticket cancellation attempt - no logged in user");
-            throw new CustomException("Please log in to book the ticket", ResponseStatus.USER_NOT_FOUND);
-        }
-
+    public ResponseDataDTO cancelTicket(String userId, String idOfTicketToCancel) {
         try {
-            Iterator<Ticket> iterator = loggedInUser.getTicketsBooked().iterator();
-
-            // Iterate through the user's booked tickets
-            while (iterator.hasNext()) {
-                Ticket ticket = iterator.next();
-
-                // Check if the ticket ID matches
-                if (ticket.getTicketId().equals(idOfTicketToCancel)) {
-                    log.info("Found ticket: {}", ticket);
-
-                    // Free up the booked seats on the train
-                    String bookedTrainPrn = ticket.getTrainId();
-                    Train train = trainService.findTrainByPrn(bookedTrainPrn).get();
-                    log.info("Associated train: {}", train);
-
-                    List<List<Integer>> bookedSeats = ticket.getBookedSeatsIndex();
-                    log.info("Booked seats before freeing: {}", bookedSeats.toString());
-                    trainService.freeTheBookedSeats(bookedSeats, train, ticket.getDateOfTravel());
-                    log.info("Seats successfully freed, saving data...");
-
-                    // Update the train in the database
-                    trainService.updateTrain(train);
-                    log.info("Updating train in the DB");
-
-                    // Delete the ticket from the ticket database
-                    ticketService.deleteTicketById(idOfTicketToCancel);
-                    log.info("Deleting ticket in the DB");
-
-                    // Remove the ticket from the user's booked list
-                    iterator.remove();
-                    log.info("Updating logged in user ticket list");
-
-                    // Save the updated user in the database
-                    userRepositoryV2.save(loggedInUser);
-                    log.info("Updating user in the DB");
-
-                    return new ResponseDataDTO(true, String.format("Ticket ID: %s has been deleted.", idOfTicketToCancel));
-                }
-            }
-
-            log.warn("Ticket not found: {}", idOfTicketToCancel);
-            throw new CustomException(String.format("Ticket ID: %s not found", idOfTicketToCancel),
-                    ResponseStatus.TICKET_NOT_FOUND);
-
+            // Delete the ticket from the ticket database; another user's ticket is reported as not found
+            Ticket ticket = ticketService.deleteTicketOfUser(userId, idOfTicketToCancel)
+                    .orElseThrow(() -> new CustomException(String.format("Ticket ID: %s not found", idOfTicketToCancel),
+                            ResponseStatus.TICKET_NOT_FOUND));
+            log.info("Deleted ticket: {}", ticket);
+
+            // Free up the booked seats on the train
+            String bookedTrainPrn = ticket.getTrainId();
+            Train train = trainService.findTrainByPrn(bookedTrainPrn).get();
+            log.info("Associated train: {}", train);
+
+            List<List<Integer>> bookedSeats = ticket.getBookedSeatsIndex();
+            log.info("Booked seats before freeing: {}", bookedSeats.toString());
+            trainService.freeTheBookedSeats(bookedSeats, train, ticket.getDateOfTravel());
+            log.info("Seats successfully freed");
+
+            return new ResponseDataDTO(true, String.format("Ticket ID: %s has been deleted.", idOfTicketToCancel));
         } catch (Exception e) {
             log.error("Error while canceling ticket: {}", e.getMessage(), e);
             throw new CustomException("Error while canceling ticket: " + e.getMessage(), ResponseStatus.TICKET_NOT_CANCELLED);
@@ -299,71 +292,45 @@ public class UserBookingServiceImpl implements UserBookingService {
     }
 
     /**
-     * Fetches a ticket by its ID for the logged-in user.
+     * Fetches a ticket of a user by its ID.
      *
+     * @param userId           The ID of the user, resolved from the session token.
      * @param idOfTicketToFind The ID of the ticket to find.
      * @return ResponseDataDTO containing the ticket details.
      */
     @Override
-    public ResponseDataDTO fetchTicketById(String idOfTicketToFind) {
+    public ResponseDataDTO fetchTicketById(String userId, String idOfTicketToFind) {
         log.info("Fetching ticket by ID: {}", idOfTicketToFind);
-
-        // Ensure the user is logged in
-        if (loggedInUser == null) {
-            log.warn("Unauthorized ticket fetch attempt - no logged in user");
-            throw new CustomException("Please log in to book the ticket", ResponseStatus.USER_NOT_FOUND);
-        }
-
-        // Find the ticket by its ID
-        Ticket ticketFound = ticketService.findTicketById(idOfTicketToFind).orElse(null);
-        if (ticketFound == null) {
-            log.warn("Ticket not found: {}", idOfTicketToFind);
-            throw new CustomException(String.format("Ticket ID: %s not found", idOfTicketToFind),
-                    ResponseStatus.TICKET_NOT_FOUND);
-        }
-
-        return new ResponseDataDTO(true, "Ticket found", ticketFound);
+        return new ResponseDataDTO(true, "Ticket found", findTicketOfUser(userId, idOfTicketToFind));
     }
 
     /**
-     * Reschedules a ticket to a new travel date.
+     * Reschedules a ticket of a user to a new travel date.
      *
+     * @param userId            The ID of the user, resolved from the session token.
      * @param ticketId          The ID of the ticket to reschedule.
      * @param updatedTravelDate The new travel date.
      * @return ResponseDataDTO containing rescheduling result.
      */
     @Override
-    public ResponseDataDTO rescheduleTicket(String ticketId, LocalDate updatedTravelDate) {
-        // Ensure the user is logged in
-        if (loggedInUser == null) {
-            log.warn("Unauthorized ticket rescheduling attempt - no logged in user");
-            throw new CustomException("Please log in to book the ticket", ResponseStatus.USER_NOT_FOUND);
-        }
-
+    public ResponseDataDTO rescheduleTicket(String userId, String ticketId, LocalDate updatedTravelDate) {
         // Ensure the new travel date is not in the past
         if (updatedTravelDate.isBefore(LocalDate.now())) {
             throw new CustomException("Date of travel cannot be in the past", ResponseStatus.INVALID_DATA);
         }
 
         // Find the ticket by its ID
-        Ticket ticketFound = ticketService.findTicketById(ticketId).orElse(null);
-        if (ticketFound == null) {
-            throw new CustomException(String.format("Ticket ID: %s not found", ticketId),
-                    ResponseStatus.TICKET_NOT_FOUND);
-        }
-        
+        Ticket ticketFound = findTicketOfUser(userId, ticketId);
+
         // free the booked seats
         List<List<Integer>> bookedSeats = ticketFound.getBookedSeatsIndex();
         Train train = trainService.findTrainByPrn(ticketFound.getTrainId()).orElse(null);
         log.info("Booked seats before freeing: {}", bookedSeats.toString());
         trainService.freeTheBookedSeats(bookedSeats, train, ticketFound.getDateOfTravel());
-        log.info("Seats successfully freed, saving data...");
-
-        // Update the train in the database
-        trainService.updateTrain(train);
+        log.info("Seats successfully freed");
 
         // Check if the train can be booked for the new date
-        Ticket newTicket = (Ticket) this.bookTicket(ticketFound.getTrainId(),ticketFound.getSource(),
+        Ticket newTicket = (Ticket) this.bookTicket(userId, ticketFound.getTrainId(),ticketFound.getSource(),
                 ticketFound.getDestination(), updatedTravelDate, ticketFound.getBookedSeatsIndex().size()).getData();
        
 
@@ -377,4 +344,53 @@ public class UserBookingServiceImpl implements UserBookingService {
         ticketService.saveTicket(newTicket);
         return new ResponseDataDTO(true, "Travel date updated successfully");
     }
+
+    /**
+     * Rejects a range of travel dates whose start is after its end.
+     */
+    private static void checkDateRange(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new CustomException("fromDate must not be after toDate", ResponseStatus.INVALID_DATA);
+        }
+    }
+
+    /**
+     * The cursor is the position of the last ticket of a page, (date of travel, ticket ID), in URL-safe Base64.
+     */
+    private static String encodeCursor(Ticket lastTicket) {
+        String position = lastTicket.getDateOfTravel() + CURSOR_SEPARATOR + lastTicket.getTicketId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(Pattern.quote(CURSOR_SEPARATOR), 2);
+            if (position.length == 2) {
+                LocalDate.parse(position[0]);
+                return position;
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            log.warn("Invalid ticket cursor: {}", cursor);
+        }
+        throw new CustomException("Invalid cursor", ResponseStatus.INVALID_DATA);
+    }
+
+    /**
+     * Finds a ticket and checks that it belongs to the user.
+     *
+     * @param userId   The ID of the user.
+     * @param ticketId The ID of the ticket.
+     * @return The ticket.
+     */
+    private Ticket findTicketOfUser(String userId, String ticketId) {
+        Ticket ticket = ticketService.findTicketById(ticketId).orElse(null);
+        // Another user's ticket is reported as not found, so ticket IDs cannot be probed
+        if (ticket == null || !userId.equals(ticket.getUserId())) {
+            log.warn("Ticket not found: {}", ticketId);
+            throw new CustomException(String.format("Ticket ID: %s not found", ticketId),
+                    ResponseStatus.TICKET_NOT_FOUND);
+        }
+        return ticket;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.yaksh.train_ticket.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks keyed by (train PRN, travel date).
+ * Bookings on the same seat inventory run one at a time within this node, so they never pick the same
+ * free seats and lose the conditional update to each other; bookings on other trains or dates take
+ * other stripes and run in parallel. Across nodes the conditional seat update remains the guard.
+ */
+@Component
+public class InventoryLocks {
+    private final ReentrantLock[] stripes;
+
+    public InventoryLocks(@Value("${booking.lock.stripes:256}") int stripeCount) {
+        // Round up to a power of two so a stripe is picked with a mask
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs an action while holding the lock of a train's seat inventory on a date.
+     *
+     * @param trainPrn   The PRN of the train.
+     * @param travelDate The date of travel.
+     * @param action     The action to run.
+     * @return The result of the action.
+     */
+    public <T> T withLock(String trainPrn, LocalDate travelDate, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(trainPrn, travelDate);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripeFor(String trainPrn, LocalDate travelDate) {
+        int hash = 31 * trainPrn.hashCode() + travelDate.hashCode();
+        hash ^= hash >>> 16; // spread the high bits into the masked ones
+        return stripes[hash & (stripes.length - 1)];
+    }
+}
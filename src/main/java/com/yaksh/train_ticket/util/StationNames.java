@@ -0,0 +1,26 @@
+package com.yaksh.train_ticket.util;
+
+import java.util.Locale;
+
+/**
+ * Helpers for turning user supplied station names into the canonical form used as lookup keys.
+ */
+public final class StationNames {
+
+    private StationNames() {
+    }
+
+    /**
+     * Returns the canonical form of a station name (trimmed and lower cased).
+     * Station matching in the application is case-insensitive, so every index keyed by station uses this form.
+     *
+     * @param stationName the station name as entered by the user or stored in the schedule.
+     * @return the canonical station name, or null if the input is null.
+     */
+    public static String canonical(String stationName) {
+        if (stationName == null) {
+            return null;
+        }
+        return stationName.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,25 @@
+package com.yaksh.train_ticket.util;
+
+import com.yaksh.train_ticket.model.Train;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiles the per-date schedule lookup of a train once, when it is read from or written to MongoDB,
+ * so schedule checks during search and booking never walk the stop lists.
+ */
+@Component
+public class TrainScheduleCompiler extends AbstractMongoEventListener<Train> {
+
+    @Override
+    public void onAfterConvert(AfterConvertEvent<Train> event) {
+        event.getSource().compileSchedules();
+    }
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<Train> event) {
+        event.getSource().compileSchedules();
+    }
+}
@@ -1,5 +1,7 @@
 package com.yaksh.train_ticket.util;
 
+import com.yaksh.train_ticket.DTO.TrainSummaryDTO;
+import com.yaksh.train_ticket.model.SeatAvailability;
 import com.yaksh.train_ticket.model.Train;
 import com.yaksh.train_ticket.repository.TrainRepositoryV2;
 
@@ -9,4 +11,5 @@ import java.util.List;
 public interface TrainServiceUtil {
     boolean validTrain(String source, String destination, LocalDate travelDate, Train train);
     boolean doesTrainExist(String prn, TrainRepositoryV2 trainRepositoryV2);
+    TrainSummaryDTO summarize(Train train, String source, String destination, LocalDate travelDate, SeatAvailability availability);
 }
@@ -1,38 +1,31 @@
 package com.yaksh.train_ticket.util;
 
 
-import com.yaksh.train_ticket.model.StationSchedule;
+import com.yaksh.train_ticket.DTO.TrainSummaryDTO;
+import com.yaksh.train_ticket.model.CompiledSchedule;
+import com.yaksh.train_ticket.model.SeatAvailability;
 import com.yaksh.train_ticket.model.Train;
 import com.yaksh.train_ticket.repository.TrainRepositoryV2;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Service
 @Slf4j
 public class TrainServiceUtilImpl implements TrainServiceUtil {
     @Override
     public boolean validTrain(String source, String destination, LocalDate travelDate, Train train) {
-        List<StationSchedule> schedules = train.getSchedules().get(travelDate.toString());
-        if(schedules==null){
+        CompiledSchedule schedule = train.getCompiledSchedule(travelDate);
+        if(schedule==null){
             return false;
         }
-        log.info(schedules.toString());
-        int sourceIndx = schedules.stream()
-                .filter(station -> station.getName().equalsIgnoreCase(source))
-                .findFirst()
-                .map(schedules::indexOf)
-                .orElse(-1);
-        int destinationIndx = schedules.stream()
-                .filter(station -> station.getName().equalsIgnoreCase(destination))
-                .findFirst()
-                .map(schedules::indexOf)
-                .orElse(-1);
-
-        return sourceIndx!= -1 && destinationIndx!=-1 && sourceIndx < destinationIndx;
+        // canonical() returns the same instance for already canonical names, so callers that
+        // canonicalize once per search do not allocate per train
+        return schedule.servesInOrder(StationNames.canonical(source), StationNames.canonical(destination));
     }
 
     @Override
@@ -43,4 +36,29 @@ public class TrainServiceUtilImpl implements TrainServiceUtil {
         }
         return false;
     }
+
+    /**
+     * Builds the search result of a train that passed {@link #validTrain}; only the schedule of the travel date is read,
+     * so the train may come from a projection holding nothing else.
+     */
+    @Override
+    public TrainSummaryDTO summarize(Train train, String source, String destination, LocalDate travelDate, SeatAvailability availability) {
+        CompiledSchedule schedule = train.getCompiledSchedule(travelDate);
+        LocalDateTime departureTime = schedule == null ? null : schedule.arrivalAt(StationNames.canonical(source));
+        LocalDateTime arrivalTime = schedule == null ? null : schedule.arrivalAt(StationNames.canonical(destination));
+        Long durationMinutes = departureTime == null || arrivalTime == null
+                ? null
+                : Duration.between(departureTime, arrivalTime).toMinutes();
+        return TrainSummaryDTO.builder()
+                .prn(train.getPrn())
+                .trainName(train.getTrainName())
+                .travelDate(travelDate)
+                .source(source)
+                .destination(destination)
+                .departureTime(departureTime)
+                .arrivalTime(arrivalTime)
+                .durationMinutes(durationMinutes)
+                .availability(availability)
+                .build();
+    }
 }
@@ -13,4 +13,10 @@ public interface UserServiceUtil {
     String hashPassword(String password);
     boolean checkPassword(String password, String hashedPassword);
 
+    /**
+     * @param hashedPassword A stored BCrypt hash.
+     * @return true if the hash was made with a different work factor than the configured one.
+     */
+    boolean needsRehash(String hashedPassword);
+
 }
@@ -1,26 +1,111 @@
 package com.yaksh.train_ticket.util;
 
-import com.yaksh.train_ticket.model.User;
-import com.yaksh.train_ticket.service.UserBookingService;
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.mindrot.jbcrypt.BCrypt;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+/**
+ * BCrypt hashing on a dedicated, bounded pool so a burst of logins or signups cannot occupy the
+ * request threads that serve searches and bookings. When every hashing thread is busy and the queue
+ * is full, the request is rejected at once with SERVICE_BUSY instead of waiting.
+ */
 @Service
+@Slf4j
 public class UserServiceUtilImpl implements UserServiceUtil{
+    private final int workFactor;
+    private final Duration timeout;
+    private final ExecutorService hashingExecutor;
+    private final Timer hashTimer;
+    private final Timer checkTimer;
+    private final Timer queueWaitTimer;
 
+    public UserServiceUtilImpl(MeterRegistry meterRegistry,
+                               @Value("${password.bcrypt.cost:10}") int workFactor,
+                               @Value("${password.hashing.threads:0}") int threads,
+                               @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+                               @Value("${password.hashing.timeout:10s}") Duration timeout) {
+        this.workFactor = workFactor;
+        this.timeout = timeout;
+        // Default to half the cores, leaving the rest to the request threads
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hashingExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+        this.hashTimer = Timer.builder("password.hash").tag("operation", "hash").register(meterRegistry);
+        this.checkTimer = Timer.builder("password.hash").tag("operation", "check").register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("password.hash.queue.wait").register(meterRegistry);
+    }
 
     @Override
     public String hashPassword(String password) {
-         return BCrypt.hashpw(password,BCrypt.gensalt());
+        return runOnHashingPool(hashTimer, () -> BCrypt.hashpw(password, BCrypt.gensalt(workFactor)));
     }
 
     @Override
     public boolean checkPassword(String password, String hashedPassword) {
-        return BCrypt.checkpw(password,hashedPassword);
+        return runOnHashingPool(checkTimer, () -> BCrypt.checkpw(password, hashedPassword));
     }
 
+    @Override
+    public boolean needsRehash(String hashedPassword) {
+        // BCrypt hashes look like $2a$10$<salt+hash>, the digits being the cost
+        String[] parts = hashedPassword.split("\\$");
+        return parts.length < 3 || Integer.parseInt(parts[2]) != workFactor;
+    }
 
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    private <T> T runOnHashingPool(Timer latencyTimer, Supplier<T> hashing) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = hashingExecutor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return latencyTimer.record(hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue is full, rejecting request");
+            throw new CustomException(ResponseStatus.SERVICE_BUSY);
+        }
+
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            log.warn("Password hashing did not finish within {}", timeout);
+            throw new CustomException(ResponseStatus.SERVICE_BUSY);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CustomException(ResponseStatus.SERVICE_BUSY);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
 }
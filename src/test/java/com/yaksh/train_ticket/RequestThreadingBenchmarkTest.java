@@ -0,0 +1,140 @@
+package com.yaksh.train_ticket;
+
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.StationSchedule;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.service.TrainService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load benchmark of the blocking request path on platform threads against virtual threads.
+ * Needs the MongoDB the application is configured for (localhost:27017 by default); the trains are written to a
+ * separate request_threading_benchmark database, which is dropped after each run. Tomcat is capped at the same number of platform threads in both runs; the virtual thread run needs Java 21:
+ * ./gradlew benchmark -PjavaVersion=21
+ */
+@Tag("benchmark")
+public class RequestThreadingBenchmarkTest {
+    private static final int TOMCAT_THREADS = 20;
+    private static final int CONCURRENT_CLIENTS = 200;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+    private static final LocalDate TRAVEL_DATE = LocalDate.now().plusDays(1);
+
+    @Test
+    public void platformAndVirtualThreads_searchTrains_compareThroughputAndP99() throws Exception {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21, run with -PjavaVersion=21");
+
+        LoadResult platform = runLoad(false);
+        LoadResult virtual = runLoad(true);
+
+        System.out.printf("Platform threads: %8.0f req/s, p99 %6.1f ms, errors %d%n", platform.throughput(), platform.p99Millis(), platform.errors());
+        System.out.printf("Virtual threads:  %8.0f req/s, p99 %6.1f ms, errors %d%n", virtual.throughput(), virtual.p99Millis(), virtual.errors());
+        Assertions.assertThat(platform.errors()).isZero();
+        Assertions.assertThat(virtual.errors()).isZero();
+    }
+
+    private LoadResult runLoad(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TrainTicketApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.data.mongodb.database=request_threading_benchmark")
+                .run()) {
+            try {
+                seedTrains(context.getBean(TrainService.class));
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                List<URI> requests = List.of(
+                        URI.create(String.format("http://localhost:%d/v1/train/searchTrains?source=station-0&destination=station-9&travelDate=%s", port, TRAVEL_DATE)),
+                        URI.create(String.format("http://localhost:%d/v1/train/searchTrains?source=station-2&destination=station-7&travelDate=%s", port, TRAVEL_DATE)));
+
+                drive(requests, WARMUP);
+                return drive(requests, MEASUREMENT);
+            } finally {
+                context.getBean(MongoTemplate.class).getDb().drop();
+            }
+        }
+    }
+
+    private void seedTrains(TrainService trainService) {
+        List<Train> trains = new ArrayList<>();
+        for (int train = 0; train < 20; train++) {
+            List<StationSchedule> stops = new ArrayList<>();
+            for (int stop = 0; stop < 10; stop++) {
+                stops.add(new StationSchedule("station-" + stop, TRAVEL_DATE.atStartOfDay().plusMinutes(30L * stop + train)));
+            }
+            trains.add(Train.builder()
+                    .prn(String.valueOf(100001 + train))
+                    .trainName("Benchmark " + train)
+                    .schedules(new HashMap<>(Map.of(TRAVEL_DATE.toString(), stops)))
+                    .seats(new HashMap<>(Map.of(TRAVEL_DATE.toString(), new SeatInventory(15, 8))))
+                    .build());
+        }
+        trainService.addMultipleTrains(trains);
+    }
+
+    /**
+     * Keeps CONCURRENT_CLIENTS requests in flight for the given duration and records every latency.
+     */
+    private LoadResult drive(List<URI> requests, Duration duration) throws InterruptedException {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(CONCURRENT_CLIENTS);
+        HttpClient client = HttpClient.newBuilder()
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_CLIENTS);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try {
+            for (int clientNumber = 0; clientNumber < CONCURRENT_CLIENTS; clientNumber++) {
+                int offset = clientNumber;
+                clients.submit(() -> {
+                    for (int call = offset; System.nanoTime() < deadline; call++) {
+                        HttpRequest request = HttpRequest.newBuilder(requests.get(call % requests.size())).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - start);
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS);
+        } finally {
+            clients.shutdownNow();
+            httpExecutor.shutdownNow();
+        }
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        double p99Millis = sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * 0.99) - 1)] / 1_000_000.0;
+        return new LoadResult(sorted.length / (double) duration.toSeconds(), p99Millis, errors.get());
+    }
+
+    private record LoadResult(double throughput, double p99Millis, long errors) {
+    }
+}
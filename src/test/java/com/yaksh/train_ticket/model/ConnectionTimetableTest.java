@@ -0,0 +1,121 @@
+package com.yaksh.train_ticket.model;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ConnectionTimetableTest {
+    //++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // NOTE: naming convention of test methods: classIAmTesting_functionIamTesting_whatItReturns
+    //++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    private static final LocalDate TRAVEL_DATE = LocalDate.parse("2025-03-16");
+    private static final Duration MIN_TRANSFER = Duration.ofMinutes(20);
+    private static final Duration MAX_TRANSFER = Duration.ofHours(6);
+
+    @Test
+    public void connectionTimetable_findJourneys_changesAtSharedStation(){
+        // Arrange: A to B arrives 10:00, B to C leaves 10:15 (too soon) and 10:30
+        ConnectionTimetable timetable = ConnectionTimetable.of(List.of(
+                train("100001", "A", "08:00", "B", "10:00"),
+                train("100002", "B", "10:15", "C", "11:00"),
+                train("100003", "b", "10:30", "C", "12:00")));
+
+        // Act
+        List<ConnectionTimetable.Journey> journeys = timetable.findJourneys("a", "c", TRAVEL_DATE, MIN_TRANSFER, MAX_TRANSFER);
+
+        // Assert
+        Assertions.assertThat(journeys).hasSize(1);
+        ConnectionTimetable.Journey journey = journeys.get(0);
+        Assertions.assertThat(journey.getChanges()).isEqualTo(1);
+        Assertions.assertThat(journey.getLegs()).extracting(ConnectionTimetable.Leg::getTrainPrn).containsExactly("100001", "100003");
+        Assertions.assertThat(journey.getArrivalTime()).isEqualTo(TRAVEL_DATE.atTime(12, 0));
+    }
+
+    @Test
+    public void connectionTimetable_findJourneys_dropsJourneysBeatenByADirectTrain(){
+        // Arrange: the direct train leaves later and arrives earlier than the connection
+        ConnectionTimetable timetable = ConnectionTimetable.of(List.of(
+                train("100001", "A", "08:00", "B", "10:00"),
+                train("100002", "B", "10:30", "C", "12:00"),
+                train("100003", "A", "09:00", "C", "11:00")));
+
+        // Act
+        List<ConnectionTimetable.Journey> journeys = timetable.findJourneys("a", "c", TRAVEL_DATE, MIN_TRANSFER, MAX_TRANSFER);
+
+        // Assert
+        Assertions.assertThat(journeys).hasSize(1);
+        Assertions.assertThat(journeys.get(0).getChanges()).isZero();
+        Assertions.assertThat(journeys.get(0).getLegs().get(0).getTrainPrn()).isEqualTo("100003");
+    }
+
+    @Test
+    public void connectionTimetable_withTrains_replacesRunsOfUpdatedTrain(){
+        // Arrange
+        ConnectionTimetable timetable = ConnectionTimetable.of(List.of(
+                train("100001", "A", "08:00", "B", "10:00"),
+                train("100002", "B", "10:30", "C", "12:00")));
+
+        // Act: the second train no longer serves B
+        ConnectionTimetable updated = timetable.withTrains(List.of(train("100002", "D", "10:30", "C", "12:00")));
+
+        // Assert: the old timetable is untouched
+        Assertions.assertThat(timetable.findJourneys("a", "c", TRAVEL_DATE, MIN_TRANSFER, MAX_TRANSFER)).hasSize(1);
+        Assertions.assertThat(updated.findJourneys("a", "c", TRAVEL_DATE, MIN_TRANSFER, MAX_TRANSFER)).isEmpty();
+        Assertions.assertThat(updated.trainCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void connectionTimetable_findJourneys_readsOnlyRunsOfTheTravelDate(){
+        // Arrange: a daily train, a run of the travel date reaching the source after midnight,
+        // and a run of the next date calling at the source before it
+        LocalDate nextDate = TRAVEL_DATE.plusDays(1);
+        Map<String, List<StationSchedule>> daily = new HashMap<>();
+        for (LocalDate date : List.of(TRAVEL_DATE.minusDays(1), TRAVEL_DATE, nextDate)) {
+            daily.put(date.toString(), List.of(
+                    new StationSchedule("A", date.atTime(8, 0)),
+                    new StationSchedule("B", date.atTime(10, 0))));
+        }
+        ConnectionTimetable timetable = ConnectionTimetable.of(List.of(
+                Train.builder().prn("100001").trainName("Daily").schedules(daily).build(),
+                Train.builder().prn("100002").trainName("Night").schedules(Map.of(TRAVEL_DATE.toString(), List.of(
+                        new StationSchedule("Z", TRAVEL_DATE.atTime(22, 0)),
+                        new StationSchedule("A", nextDate.atTime(1, 0)),
+                        new StationSchedule("B", nextDate.atTime(3, 0))))).build(),
+                Train.builder().prn("100003").trainName("Early").schedules(Map.of(nextDate.toString(), List.of(
+                        new StationSchedule("A", nextDate.atTime(0, 30)),
+                        new StationSchedule("B", nextDate.atTime(2, 0))))).build()));
+
+        // Act
+        List<ConnectionTimetable.Journey> journeys = timetable.findJourneys("a", "b", TRAVEL_DATE, MIN_TRANSFER, MAX_TRANSFER);
+
+        // Assert
+        Assertions.assertThat(journeys)
+                .extracting(journey -> journey.getLegs().get(0).getTrainPrn())
+                .containsExactly("100001", "100002");
+        Assertions.assertThat(journeys)
+                .extracting(journey -> journey.getLegs().get(0).getTravelDate())
+                .containsOnly(TRAVEL_DATE);
+    }
+
+    /**
+     * A train running on the travel date, stops given as alternating station names and times.
+     */
+    private static Train train(String prn, String... stopsAndTimes) {
+        List<StationSchedule> stops = new ArrayList<>();
+        for (int i = 0; i < stopsAndTimes.length; i += 2) {
+            stops.add(new StationSchedule(stopsAndTimes[i], TRAVEL_DATE.atTime(LocalTime.parse(stopsAndTimes[i + 1]))));
+        }
+        return Train.builder()
+                .prn(prn)
+                .trainName("Train " + prn)
+                .schedules(Map.of(TRAVEL_DATE.toString(), stops))
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.yaksh.train_ticket.model;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SeatInventoryTest {
+    //++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // NOTE: naming convention of test methods: classIAmTesting_functionIamTesting_whatItReturns
+    //++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    @Test
+    public void seatInventory_fromMatrix_roundTripsToSameMatrix(){
+        // Arrange
+        List<List<Integer>> matrix = Arrays.asList(
+                Arrays.asList(1, 0, 0, 1),
+                Arrays.asList(0, 0, 1, 0)
+        );
+
+        // Act
+        SeatInventory seatInventory = SeatInventory.fromMatrix(matrix);
+
+        // Assert
+        Assertions.assertThat(seatInventory.toMatrix()).isEqualTo(matrix);
+        Assertions.assertThat(seatInventory.freeCount()).isEqualTo(5);
+    }
+
+    @Test
+    public void seatInventory_findContiguousFree_runAcrossRows(){
+        // Arrange
+        SeatInventory seatInventory = SeatInventory.fromMatrix(Arrays.asList(
+                Arrays.asList(0, 1, 0, 0),
+                Arrays.asList(0, 1, 0, 0)
+        ));
+
+        // Act
+        int firstSeat = seatInventory.findContiguousFree(3);
+
+        // Assert: seats (0,2), (0,3) and (1,0)
+        Assertions.assertThat(firstSeat).isEqualTo(2);
+        Assertions.assertThat(seatInventory.findContiguousFree(4)).isEqualTo(-1);
+    }
+
+    @Test
+    public void seatInventory_findContiguousFree_spansWordBoundary(){
+        // Arrange: 200 seats, everything booked except seats 60..69
+        SeatInventory seatInventory = new SeatInventory(10, 20);
+        for (int seat = 0; seat < 200; seat++) {
+            if (seat < 60 || seat >= 70) {
+                seatInventory.book(seatInventory.rowOf(seat), seatInventory.colOf(seat));
+            }
+        }
+
+        // Act & Assert
+        Assertions.assertThat(seatInventory.findContiguousFree(10)).isEqualTo(60);
+        Assertions.assertThat(seatInventory.findContiguousFree(11)).isEqualTo(-1);
+        Assertions.assertThat(seatInventory.freeCount()).isEqualTo(10);
+    }
+
+    @Test
+    public void seatInventory_findFree_returnsFirstFreeSeats(){
+        // Arrange
+        SeatInventory seatInventory = SeatInventory.fromMatrix(Arrays.asList(
+                Arrays.asList(1, 0, 1),
+                Arrays.asList(0, 1, 0)
+        ));
+
+        // Act & Assert
+        Assertions.assertThat(seatInventory.findFree(3)).containsExactly(1, 3, 5);
+        Assertions.assertThat(seatInventory.findFree(4)).isNull();
+    }
+
+    @Test
+    public void seatInventory_free_clearsBookedSeat(){
+        // Arrange
+        SeatInventory seatInventory = new SeatInventory(2, 2);
+        seatInventory.book(1, 1);
+
+        // Act
+        seatInventory.free(1, 1);
+
+        // Assert
+        Assertions.assertThat(seatInventory.isBooked(1, 1)).isFalse();
+        Assertions.assertThat(seatInventory.freeCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void seatInventory_findContiguousFree_updatedOnBookAndFree(){
+        // Arrange
+        SeatInventory seatInventory = new SeatInventory(3, 4);
+        Assertions.assertThat(seatInventory.longestFreeRun()).isEqualTo(12);
+
+        // Act: book the middle seat of the layout
+        seatInventory.book(1, 1);
+
+        // Assert
+        Assertions.assertThat(seatInventory.longestFreeRun()).isEqualTo(6);
+        Assertions.assertThat(seatInventory.findContiguousFree(6)).isEqualTo(6);
+        Assertions.assertThat(seatInventory.freeCount()).isEqualTo(11);
+
+        // Act: cancel it again
+        seatInventory.free(1, 1);
+
+        // Assert
+        Assertions.assertThat(seatInventory.findContiguousFree(12)).isZero();
+    }
+}
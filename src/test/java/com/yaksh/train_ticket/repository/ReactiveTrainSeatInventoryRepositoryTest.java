@@ -0,0 +1,55 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.config.MongoConfig;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@DataMongoTest
+@ActiveProfiles("reactive")
+@Import(MongoConfig.class)
+public class ReactiveTrainSeatInventoryRepositoryTest {
+    @Autowired
+    private ReactiveTrainSeatInventoryRepository reactiveTrainSeatInventoryRepository;
+
+    @BeforeEach
+    void setup(){
+        reactiveTrainSeatInventoryRepository.deleteAll().block();
+    }
+
+    @Test
+    public void reactiveTrainSeatInventoryRepository_reserveSeats_failsWhenSeatAlreadyBooked(){
+        // Arrange
+        SeatInventory seatInventory = new SeatInventory(3, 4);
+        reactiveTrainSeatInventoryRepository.save(TrainSeatInventory.of("123456", "2025-03-16", seatInventory)).block();
+        LocalDate travelDate = LocalDate.parse("2025-03-16");
+        Map<Integer, Long> firstBooking = seatInventory.wordMasks(List.of(List.of(0, 0), List.of(0, 1)));
+        Map<Integer, Long> overlappingBooking = seatInventory.wordMasks(List.of(List.of(0, 1), List.of(0, 2)));
+
+        // Act & Assert
+        StepVerifier.create(reactiveTrainSeatInventoryRepository.reserveSeats("123456", travelDate, firstBooking))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(reactiveTrainSeatInventoryRepository.reserveSeats("123456", travelDate, overlappingBooking))
+                .expectNext(false)
+                .verifyComplete();
+        StepVerifier.create(reactiveTrainSeatInventoryRepository.findSeats("123456", travelDate))
+                .assertNext(savedSeats -> {
+                    Assertions.assertThat(savedSeats.isBooked(0, 1)).isTrue();
+                    Assertions.assertThat(savedSeats.isBooked(0, 2)).isFalse();
+                    Assertions.assertThat(savedSeats.freeCount()).isEqualTo(10);
+                })
+                .verifyComplete();
+    }
+}
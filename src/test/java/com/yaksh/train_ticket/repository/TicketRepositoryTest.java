@@ -10,6 +10,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -70,4 +72,52 @@ public class TicketRepositoryTest {
         Assertions.assertThat(savedTicket).isNotPresent();
     }
 
+    @Test
+    public void ticketRepository_findTicketsOfUser_pagesInDateOrder(){
+        //Arrange: five tickets of user-1 on three dates, one ticket of another user
+        LocalDate day = LocalDate.of(2030, 1, 1);
+        ticketRepositoryV2.saveAll(List.of(
+                ticketOf("user-1", "t-e", day.plusDays(2)),
+                ticketOf("user-1", "t-b", day),
+                ticketOf("user-1", "t-d", day.plusDays(1)),
+                ticketOf("user-1", "t-a", day),
+                ticketOf("user-1", "t-c", day.plusDays(1)),
+                ticketOf("user-2", "t-x", day)));
+
+        //Act
+        List<Ticket> firstPage = ticketRepositoryV2.findTicketsOfUser("user-1", null, null, null, null, 3);
+        Ticket last = firstPage.get(firstPage.size() - 1);
+        List<Ticket> secondPage = ticketRepositoryV2.findTicketsOfUser("user-1", null, null, last.getDateOfTravel(), last.getTicketId(), 3);
+
+        //Assert
+        Assertions.assertThat(firstPage).extracting(Ticket::getTicketId).containsExactly("t-a", "t-b", "t-c");
+        Assertions.assertThat(secondPage).extracting(Ticket::getTicketId).containsExactly("t-d", "t-e");
+    }
+
+    @Test
+    public void ticketRepository_countTicketsOfUser_withinDateRange(){
+        //Arrange
+        LocalDate day = LocalDate.of(2030, 1, 1);
+        ticketRepositoryV2.saveAll(List.of(
+                ticketOf("user-1", "t-a", day),
+                ticketOf("user-1", "t-b", day.plusDays(1)),
+                ticketOf("user-1", "t-c", day.plusDays(2)),
+                ticketOf("user-2", "t-x", day.plusDays(1))));
+
+        //Act
+        long all = ticketRepositoryV2.countTicketsOfUser("user-1", null, null);
+        long inRange = ticketRepositoryV2.countTicketsOfUser("user-1", day.plusDays(1), day.plusDays(2));
+
+        //Assert
+        Assertions.assertThat(all).isEqualTo(3);
+        Assertions.assertThat(inRange).isEqualTo(2);
+    }
+
+    private static Ticket ticketOf(String userId, String ticketId, LocalDate dateOfTravel){
+        return Ticket.builder()
+                .ticketId(ticketId)
+                .userId(userId)
+                .dateOfTravel(dateOfTravel)
+                .build();
+    }
 }
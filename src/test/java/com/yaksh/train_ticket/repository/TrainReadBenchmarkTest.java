@@ -0,0 +1,99 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.config.MongoConfig;
+import com.yaksh.train_ticket.model.StationSchedule;
+import com.yaksh.train_ticket.model.Train;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Compares loading a whole train against the projected single-date schedule read on a train with a 120 day calendar.
+ * Run with ./gradlew benchmark; it is left out of the regular test task.
+ */
+@DataMongoTest
+@Import(MongoConfig.class)
+@Tag("benchmark")
+public class TrainReadBenchmarkTest {
+    private static final String TRAIN_PRN = "123456";
+    private static final LocalDate FIRST_DATE = LocalDate.parse("2025-03-16");
+    private static final int CALENDAR_DAYS = 120;
+    private static final int STOPS_PER_DAY = 20;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 1000;
+
+    @Autowired
+    private TrainRepositoryV2 trainRepositoryV2;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup(){
+        trainRepositoryV2.deleteAll();
+        Map<String, List<StationSchedule>> schedules = new HashMap<>();
+        for (int day = 0; day < CALENDAR_DAYS; day++) {
+            LocalDate date = FIRST_DATE.plusDays(day);
+            List<StationSchedule> stops = new ArrayList<>();
+            for (int stop = 0; stop < STOPS_PER_DAY; stop++) {
+                stops.add(new StationSchedule("station-" + stop, date.atStartOfDay().plusMinutes(30L * stop)));
+            }
+            schedules.put(date.toString(), stops);
+        }
+        trainRepositoryV2.save(Train.builder().prn(TRAIN_PRN).trainName("Shatabdi").schedules(schedules).build());
+    }
+
+    @Test
+    public void trainRepository_findByIdWithScheduleOf_readsOnlyOneDate(){
+        // Arrange
+        LocalDate travelDate = FIRST_DATE.plusDays(CALENDAR_DAYS / 2);
+        Query fullQuery = Query.query(Criteria.where("_id").is(TRAIN_PRN));
+        Query projectedQuery = Query.query(Criteria.where("_id").is(TRAIN_PRN));
+        projectedQuery.fields().include("schedules." + travelDate);
+
+        // Act
+        int fullBytes = bsonSize(mongoTemplate.findOne(fullQuery, Document.class, "trains"));
+        int projectedBytes = bsonSize(mongoTemplate.findOne(projectedQuery, Document.class, "trains"));
+        double fullMicros = averageMicros(() -> trainRepositoryV2.findById(TRAIN_PRN).get().getSchedules().get(travelDate.toString()));
+        double projectedMicros = averageMicros(() -> trainRepositoryV2.findByIdWithScheduleOf(TRAIN_PRN, travelDate).get().getSchedules().get(travelDate.toString()));
+
+        System.out.printf("Full train read:      %8d bytes, %8.1f us%n", fullBytes, fullMicros);
+        System.out.printf("Projected date read:  %8d bytes, %8.1f us%n", projectedBytes, projectedMicros);
+
+        // Assert
+        Assertions.assertThat(trainRepositoryV2.findByIdWithScheduleOf(TRAIN_PRN, travelDate).get().getSchedules())
+                .containsOnlyKeys(travelDate.toString());
+        Assertions.assertThat(projectedBytes * 50).isLessThan(fullBytes);
+    }
+
+    private static int bsonSize(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+    }
+
+    private static double averageMicros(Supplier<List<StationSchedule>> read) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            Assertions.assertThat(read.get()).hasSize(STOPS_PER_DAY);
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            read.get();
+        }
+        return (System.nanoTime() - start) / 1_000.0 / MEASURED_ROUNDS;
+    }
+}
@@ -1,15 +1,22 @@
 package com.yaksh.train_ticket.repository;
 
+import com.yaksh.train_ticket.config.MongoConfig;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.StationSchedule;
 import com.yaksh.train_ticket.model.Train;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @DataMongoTest
+@Import(MongoConfig.class)
 public class TrainRepositoryTest {
     @Autowired
     private TrainRepositoryV2 trainRepositoryV2;
@@ -104,32 +111,73 @@ public class TrainRepositoryTest {
                 .prn("123456")
                 .trainName("Shatabdi")
                 .build();
-        Map<String, List<List<Integer>>> seats = new HashMap<>();
-        seats.put("2025-03-16", Arrays.asList(
-                Arrays.asList(0, 0, 0, 0), // Row 1: (1 = booked, 0 = available)
-                Arrays.asList(0, 0, 0, 0), // Row 2
-                Arrays.asList(0, 0, 0, 0)  // Row 3
-        ));
-        train1.setSeats(seats);
-
-       trainRepositoryV2.save(train1);
+        trainRepositoryV2.save(train1);
 
         // Act
         Optional<Train> savedTrainOptional = trainRepositoryV2.findById("123456");
         Assertions.assertThat(savedTrainOptional).isPresent();
         Train savedTrain = savedTrainOptional.get();
-
-        // book 2 tickets
-        savedTrain.getSeats().get("2025-03-16").get(0).set(0,1);
-        savedTrain.getSeats().get("2025-03-16").get(0).set(1,1);
+        savedTrain.setTrainName("Shatabdi Express");
 
         Train updatedTrain = trainRepositoryV2.save(savedTrain);
 
         // Assert
         Assertions.assertThat(updatedTrain).isNotNull();
-        // row 0 col 0
-        Assertions.assertThat(updatedTrain.getSeats().get("2025-03-16").get(0).get(0)).isEqualTo(1);
-        // row 0 col 1
-        Assertions.assertThat(updatedTrain.getSeats().get("2025-03-16").get(0).get(1)).isEqualTo(1);
+        Assertions.assertThat(trainRepositoryV2.findById("123456").get().getTrainName()).isEqualTo("Shatabdi Express");
+    }
+
+    @Test
+    public void trainRepository_save_doesNotPersistSeats(){
+        // Arrange
+        Train train1 = Train.builder()
+                .prn("123456")
+                .trainName("Shatabdi")
+                .seats(new HashMap<>(Map.of("2025-03-16", new SeatInventory(3, 4))))
+                .build();
+
+        // Act
+        trainRepositoryV2.save(train1);
+
+        // Assert: seats are kept in the seat inventory collection
+        Assertions.assertThat(trainRepositoryV2.findById("123456").get().getSeats()).isNull();
+    }
+
+    @Test
+    public void trainRepository_findExistingPrns_returnsOnlyExistingPrns(){
+        // Arrange
+        trainRepositoryV2.saveAll(Arrays.asList(
+                Train.builder().prn("123456").trainName("Shatabdi").build(),
+                Train.builder().prn("789012").trainName("Mumbai Express").build()));
+
+        // Act
+        Set<String> existingPrns = trainRepositoryV2.findExistingPrns(List.of("123456", "789012", "345678"));
+
+        // Assert
+        Assertions.assertThat(existingPrns).containsExactlyInAnyOrder("123456", "789012");
+    }
+
+    @Test
+    public void trainRepository_findAllByIdWithScheduleOf_returnsNameAndScheduleOfDateOnly(){
+        // Arrange
+        List<StationSchedule> stops = List.of(
+                new StationSchedule("station-1", LocalDateTime.of(2025, 3, 16, 8, 0)),
+                new StationSchedule("station-2", LocalDateTime.of(2025, 3, 16, 11, 30)));
+        trainRepositoryV2.saveAll(Arrays.asList(
+                Train.builder().prn("123456").trainName("Shatabdi")
+                        .schedules(Map.of("2025-03-16", stops, "2025-03-17", stops)).build(),
+                Train.builder().prn("789012").trainName("Mumbai Express")
+                        .schedules(Map.of("2025-03-17", stops)).build()));
+
+        // Act
+        List<Train> trains = trainRepositoryV2.findAllByIdWithScheduleOf(
+                List.of("123456", "789012", "345678"), LocalDate.of(2025, 3, 16));
+
+        // Assert: both trains are found, each with at most the schedule of the searched date
+        Assertions.assertThat(trains).extracting(Train::getTrainName).containsExactlyInAnyOrder("Shatabdi", "Mumbai Express");
+        Train shatabdi = trains.stream().filter(train -> train.getPrn().equals("123456")).findFirst().get();
+        Assertions.assertThat(shatabdi.getSchedules()).containsOnlyKeys("2025-03-16");
+        Assertions.assertThat(shatabdi.getCompiledSchedule(LocalDate.of(2025, 3, 16))).isNotNull();
+        Train mumbaiExpress = trains.stream().filter(train -> train.getPrn().equals("789012")).findFirst().get();
+        Assertions.assertThat(mumbaiExpress.getCompiledSchedule(LocalDate.of(2025, 3, 16))).isNull();
     }
 }
@@ -0,0 +1,43 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.model.TrainRoute;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+
+import java.util.Optional;
+import java.util.Set;
+
+@DataMongoTest
+public class TrainRouteRepositoryTest {
+    @Autowired
+    private TrainRouteRepository trainRouteRepository;
+
+    @BeforeEach
+    void setup(){
+        trainRouteRepository.deleteAll();
+    }
+
+    @Test
+    public void trainRouteRepository_findById_success(){
+        // Arrange
+        String routeKey = TrainRoute.routeKey("mumbai", "delhi", "2025-03-16");
+        TrainRoute route = TrainRoute.builder()
+                .routeKey(routeKey)
+                .source("mumbai")
+                .destination("delhi")
+                .travelDate("2025-03-16")
+                .trainPrns(Set.of("123456", "789012"))
+                .build();
+        trainRouteRepository.save(route);
+
+        // Act
+        Optional<TrainRoute> savedRoute = trainRouteRepository.findById(routeKey);
+
+        // Assert
+        Assertions.assertThat(savedRoute).isPresent();
+        Assertions.assertThat(savedRoute.get().getTrainPrns()).containsExactlyInAnyOrder("123456", "789012");
+    }
+}
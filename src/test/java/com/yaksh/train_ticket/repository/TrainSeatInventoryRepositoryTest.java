@@ -0,0 +1,98 @@
+package com.yaksh.train_ticket.repository;
+
+import com.yaksh.train_ticket.config.MongoConfig;
+import com.yaksh.train_ticket.model.SeatAvailability;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@DataMongoTest
+@Import(MongoConfig.class)
+public class TrainSeatInventoryRepositoryTest {
+    @Autowired
+    private TrainSeatInventoryRepository trainSeatInventoryRepository;
+
+    @BeforeEach
+    void setup(){
+        trainSeatInventoryRepository.deleteAll();
+    }
+
+    @Test
+    public void trainSeatInventoryRepository_save_success(){
+        // Arrange
+        SeatInventory seatInventory = new SeatInventory(3, 4);
+        seatInventory.book(0, 0);
+        seatInventory.book(0, 1);
+
+        // Act
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("123456", "2025-03-16", seatInventory));
+
+        // Assert
+        SeatInventory savedSeats = trainSeatInventoryRepository.findById(TrainSeatInventory.inventoryId("123456", "2025-03-16"))
+                .get().getSeats();
+        // row 0 col 0
+        Assertions.assertThat(savedSeats.isBooked(0,0)).isTrue();
+        // row 0 col 1
+        Assertions.assertThat(savedSeats.isBooked(0,1)).isTrue();
+        Assertions.assertThat(savedSeats.freeCount()).isEqualTo(10);
+    }
+
+    @Test
+    public void trainSeatInventoryRepository_reserveSeats_failsWhenSeatAlreadyBooked(){
+        // Arrange
+        SeatInventory seatInventory = new SeatInventory(3, 4);
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("123456", "2025-03-16", seatInventory));
+        String inventoryId = TrainSeatInventory.inventoryId("123456", "2025-03-16");
+        LocalDate travelDate = LocalDate.parse("2025-03-16");
+        Map<Integer, Long> firstBooking = seatInventory.wordMasks(List.of(List.of(0, 0), List.of(0, 1)));
+        Map<Integer, Long> overlappingBooking = seatInventory.wordMasks(List.of(List.of(0, 1), List.of(0, 2)));
+
+        // Act
+        boolean firstReserved = trainSeatInventoryRepository.reserveSeats("123456", travelDate, firstBooking);
+        boolean overlappingReserved = trainSeatInventoryRepository.reserveSeats("123456", travelDate, overlappingBooking);
+
+        // Assert
+        Assertions.assertThat(firstReserved).isTrue();
+        Assertions.assertThat(overlappingReserved).isFalse();
+        SeatInventory savedSeats = trainSeatInventoryRepository.findById(inventoryId).get().getSeats();
+        Assertions.assertThat(savedSeats.isBooked(0, 1)).isTrue();
+        Assertions.assertThat(savedSeats.isBooked(0, 2)).isFalse();
+
+        // Act: cancel the first booking
+        trainSeatInventoryRepository.releaseSeats("123456", travelDate, firstBooking);
+
+        // Assert
+        Assertions.assertThat(trainSeatInventoryRepository.findById(inventoryId).get().getSeats().freeCount()).isEqualTo(12);
+    }
+
+    @Test
+    public void trainSeatInventoryRepository_reserveAndReleaseSeats_keepFreeSeatCounter(){
+        // Arrange
+        SeatInventory seatInventory = new SeatInventory(3, 4);
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("123456", "2025-03-16", seatInventory));
+        LocalDate travelDate = LocalDate.parse("2025-03-16");
+        Map<Integer, Long> booking = seatInventory.wordMasks(List.of(List.of(0, 0), List.of(0, 1), List.of(1, 0)));
+
+        // Act
+        trainSeatInventoryRepository.reserveSeats("123456", travelDate, booking);
+        // A conflicting booking writes nothing, not even the counter
+        trainSeatInventoryRepository.reserveSeats("123456", travelDate, booking);
+        trainSeatInventoryRepository.updateLargestFreeBlock("123456", travelDate, 7);
+        SeatAvailability afterBooking = trainSeatInventoryRepository.findAvailability(List.of("123456", "654321"), travelDate).get("123456");
+        trainSeatInventoryRepository.releaseSeats("123456", travelDate, booking);
+        SeatAvailability afterRelease = trainSeatInventoryRepository.findAvailability(List.of("123456"), travelDate).get("123456");
+
+        // Assert
+        Assertions.assertThat(afterBooking).isEqualTo(new SeatAvailability(9, 7));
+        Assertions.assertThat(afterRelease.getFreeSeats()).isEqualTo(12);
+    }
+}
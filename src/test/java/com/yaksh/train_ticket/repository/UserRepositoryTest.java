@@ -1,6 +1,5 @@
 package com.yaksh.train_ticket.repository;
 
-import com.yaksh.train_ticket.model.Ticket;
 import com.yaksh.train_ticket.model.User;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,10 +13,13 @@ import java.util.*;
 public class UserRepositoryTest {
     @Autowired
     private UserRepositoryV2 userRepositoryV2;
+    @Autowired
+    private TicketRepositoryV2 ticketRepositoryV2;
 
     @BeforeEach
     void setup(){
         userRepositoryV2.deleteAll();
+        ticketRepositoryV2.deleteAll();
     }
     //++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
     // NOTE: naming convention of test methods: classIAmTesting_functionIamTesting_whatItReturns
@@ -30,7 +32,6 @@ public class UserRepositoryTest {
                 .userId(UUID.randomUUID().toString())
                 .userEmail("test username")
                 .hashedPassword("hashedPassword")
-                .ticketsBooked(new ArrayList<>())
                 .build();
 
         // Act
@@ -49,13 +50,11 @@ public class UserRepositoryTest {
                 .userId(UUID.randomUUID().toString())
                 .userEmail("user1")
                 .hashedPassword("hashedPassword")
-                .ticketsBooked(new ArrayList<>())
                 .build();
         User user2 = User.builder()
                 .userId(UUID.randomUUID().toString())
                 .userEmail("user2")
                 .hashedPassword("hashedPassword")
-                .ticketsBooked(new ArrayList<>())
                 .build();
         List<User> userList = Arrays.asList(user2,user1);
 
@@ -75,7 +74,6 @@ public class UserRepositoryTest {
                 .userId(UUID.randomUUID().toString())
                 .userEmail("user1")
                 .hashedPassword("hashedPassword")
-                .ticketsBooked(new ArrayList<>())
                 .build();
         userRepositoryV2.save(user1);
 
@@ -86,38 +84,4 @@ public class UserRepositoryTest {
         Assertions.assertThat(userFound).isPresent();
         Assertions.assertThat(userFound.get().getUserEmail()).isEqualTo("user1");
     }
-
-    @Test
-    public void userRepository_updateUserAfterBookingTicket_success(){
-        // Arrange
-        User user1 = User.builder()
-                .userId(UUID.randomUUID().toString())
-                .userEmail("user1")
-                .hashedPassword("hashedPassword")
-                .ticketsBooked(new ArrayList<>())
-                .build();
-        userRepositoryV2.save(user1);
-
-
-        // create ticket
-        Ticket ticket = Ticket.builder()
-                .ticketId(UUID.randomUUID().toString())
-                .userId(user1.getUserId())
-                .trainId("123456")
-                .build();
-
-        // retrieve the user and book the ticket
-        Optional<User> savedUserOptional = userRepositoryV2.findByUserEmail(user1.getUserEmail());
-        Assertions.assertThat(savedUserOptional).isPresent();
-
-        User savedUser = savedUserOptional.get();
-        savedUser.getTicketsBooked().add(ticket);
-
-        // Act
-        User updatedUser = userRepositoryV2.save(savedUser);
-
-        // Assert
-        Assertions.assertThat(updatedUser).isNotNull();
-        Assertions.assertThat(updatedUser.getTicketsBooked()).hasSize(1);
-    }
 }
@@ -0,0 +1,162 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.config.MongoConfig;
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.migration.SeatInventoryMigration;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.Ticket;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import com.yaksh.train_ticket.model.User;
+import com.yaksh.train_ticket.repository.TicketRepositoryV2;
+import com.yaksh.train_ticket.repository.TrainSeatInventoryRepository;
+import com.yaksh.train_ticket.repository.UserRepositoryV2;
+import com.yaksh.train_ticket.util.InventoryLocks;
+import com.yaksh.train_ticket.util.TrainServiceUtilImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+@DataMongoTest(properties = {"booking.batch.window=50ms", "booking.batch.max-size=16"})
+@Import({MongoConfig.class, TrainServiceImpl.class, TrainServiceUtilImpl.class, SeatInventoryMigration.class, InventoryLocks.class,
+        TicketServiceImpl.class, BookingCommitServiceImpl.class, BookingCoalescerImpl.class, SimpleMeterRegistry.class})
+public class BookingCoalescerTest {
+    private static final int BOOKINGS = 48;
+    private static final int SEATS_PER_BOOKING = 3;
+
+    @Autowired
+    private BookingCoalescer bookingCoalescer;
+    @Autowired
+    private TrainSeatInventoryRepository trainSeatInventoryRepository;
+    @Autowired
+    private TicketRepositoryV2 ticketRepositoryV2;
+    @Autowired
+    private UserRepositoryV2 userRepositoryV2;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TrainService trainService;
+    @Autowired
+    private TicketService ticketService;
+    @Autowired
+    private BookingCommitService bookingCommitService;
+    @MockitoBean
+    private RouteIndexService routeIndexService;
+    @MockitoBean
+    private ConnectionSearchService connectionSearchService;
+    @MockitoBean
+    private TrainCacheService trainCacheService;
+
+    @BeforeEach
+    void setup(){
+        trainSeatInventoryRepository.deleteAll();
+        ticketRepositoryV2.deleteAll();
+        userRepositoryV2.deleteAll();
+    }
+
+    @Test
+    public void bookingCoalescer_book_batchesConcurrentBookingsWithoutDoubleBooking() throws Exception {
+        // Arrange: 120 seats, 48 bookings of 3 seats, so 40 of them can be served
+        LocalDate travelDate = LocalDate.now().plusDays(1);
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("123456", travelDate.toString(), new SeatInventory(15, 8)));
+        for (int user = 0; user < BOOKINGS; user++) {
+            userRepositoryV2.save(User.builder().userId("user-" + user).userEmail("user" + user).build());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKINGS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Ticket>> results = new ArrayList<>();
+
+        // Act
+        for (int user = 0; user < BOOKINGS; user++) {
+            String userId = "user-" + user;
+            results.add(executor.submit(() -> {
+                start.await();
+                Train train = Train.builder().prn("123456").build();
+                return bookingCoalescer.book(userId, train, "station-1", "station-2", travelDate, SEATS_PER_BOOKING);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        // Assert: every served booking got its own seats, the others were told there were not enough seats
+        Set<List<Integer>> allocated = new HashSet<>();
+        int served = 0;
+        for (Future<Ticket> result : results) {
+            try {
+                Ticket ticket = result.get();
+                for (List<Integer> seat : ticket.getBookedSeatsIndex()) {
+                    Assertions.assertThat(allocated.add(seat)).as("seat %s booked twice", seat).isTrue();
+                }
+                served++;
+            } catch (ExecutionException e) {
+                Assertions.assertThat(e.getCause()).isInstanceOf(CustomException.class);
+                Assertions.assertThat(((CustomException) e.getCause()).getErrorCode()).isEqualTo(ResponseStatus.NOT_ENOUGH_SEATS);
+            }
+        }
+        Assertions.assertThat(served).isEqualTo(40);
+        Assertions.assertThat(trainSeatInventoryRepository.findSeats("123456", travelDate).get().freeCount()).isZero();
+        Assertions.assertThat(ticketRepositoryV2.count()).isEqualTo(40);
+        // Fewer writes than bookings
+        Assertions.assertThat(meterRegistry.get("booking.batch.size").summary().count()).isLessThan(BOOKINGS);
+    }
+
+    @Test
+    public void bookingCoalescer_book_timedOutBookingIsNotWritten() throws Exception {
+        // Arrange: the batch window outlasts the caller's timeout
+        LocalDate travelDate = LocalDate.now().plusDays(1);
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("123456", travelDate.toString(), new SeatInventory(15, 8)));
+        BookingCoalescerImpl slowCoalescer = new BookingCoalescerImpl(trainService, ticketService, bookingCommitService,
+                new SimpleMeterRegistry(), true, Duration.ofMillis(300), 16, 1, Duration.ofMillis(50));
+        Train train = Train.builder().prn("123456").build();
+
+        // Act
+        Assertions.assertThatThrownBy(() -> slowCoalescer.book("user-1", train, "station-1", "station-2", travelDate, SEATS_PER_BOOKING))
+                .isInstanceOf(CustomException.class)
+                .extracting("errorCode")
+                .isEqualTo(ResponseStatus.SERVICE_BUSY);
+        Thread.sleep(600); // Let the window end and the batch flush
+        slowCoalescer.shutdown();
+
+        // Assert: the caller was told it failed, so nothing was booked
+        Assertions.assertThat(ticketRepositoryV2.count()).isZero();
+        Assertions.assertThat(trainSeatInventoryRepository.findSeats("123456", travelDate).get().freeCount()).isEqualTo(120);
+    }
+
+    @Test
+    public void bookingCoalescer_book_invalidBookingFailsAlone() throws Exception {
+        // Arrange
+        LocalDate travelDate = LocalDate.now().plusDays(1);
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("123456", travelDate.toString(), new SeatInventory(15, 8)));
+        userRepositoryV2.save(User.builder().userId("user-1").userEmail("user1").build());
+        Train train = Train.builder().prn("123456").build();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act: a valid booking and one of no seats arrive within the same window
+        Future<Ticket> valid = executor.submit(() -> bookingCoalescer.book("user-1", train, "station-1", "station-2", travelDate, SEATS_PER_BOOKING));
+        Assertions.assertThatThrownBy(() -> bookingCoalescer.book("user-2", train, "station-1", "station-2", travelDate, 0))
+                .isInstanceOf(CustomException.class)
+                .extracting("errorCode")
+                .isEqualTo(ResponseStatus.INVALID_DATA);
+        executor.shutdown();
+
+        // Assert
+        Assertions.assertThat(valid.get(10, TimeUnit.SECONDS).getBookedSeatsIndex()).hasSize(SEATS_PER_BOOKING);
+        Assertions.assertThat(ticketRepositoryV2.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,212 @@
+package com.yaksh.train_ticket.service;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.yaksh.train_ticket.config.MongoConfig;
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.migration.SeatInventoryMigration;
+import com.yaksh.train_ticket.model.SeatAvailability;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.StationSchedule;
+import com.yaksh.train_ticket.model.Ticket;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import com.yaksh.train_ticket.model.User;
+import com.yaksh.train_ticket.repository.TicketRepositoryV2;
+import com.yaksh.train_ticket.repository.TrainSeatInventoryRepository;
+import com.yaksh.train_ticket.repository.UserRepositoryV2;
+import com.yaksh.train_ticket.util.InventoryLocks;
+import com.yaksh.train_ticket.util.TrainServiceUtilImpl;
+import com.yaksh.train_ticket.util.UserServiceUtil;
+import com.yaksh.train_ticket.util.ValidationChecks;
+import org.assertj.core.api.Assertions;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.mockito.Mockito.when;
+
+@DataMongoTest
+@Import({MongoConfig.class, TrainServiceImpl.class, TrainServiceUtilImpl.class, SeatInventoryMigration.class, InventoryLocks.class,
+        TicketServiceImpl.class, BookingCommitServiceImpl.class, UserBookingServiceImpl.class, BookingCommitTest.CommandCounting.class})
+public class BookingCommitTest {
+    private static final Set<String> DATA_COMMANDS = Set.of("find", "insert", "update", "delete", "findAndModify", "aggregate");
+
+    @Autowired
+    private UserBookingService userBookingService;
+    @Autowired
+    private TrainService trainService;
+    @Autowired
+    private TrainSeatInventoryRepository trainSeatInventoryRepository;
+    @Autowired
+    private TicketRepositoryV2 ticketRepositoryV2;
+    @Autowired
+    private UserRepositoryV2 userRepositoryV2;
+    @Autowired
+    private CommandRecorder commandRecorder;
+    @MockitoBean
+    private TrainCacheService trainCacheService;
+    @MockitoBean
+    private RouteIndexService routeIndexService;
+    @MockitoBean
+    private ConnectionSearchService connectionSearchService;
+    @MockitoBean
+    private BookingCoalescer bookingCoalescer;
+    @MockitoBean
+    private UserServiceUtil userServiceUtil;
+    @MockitoBean
+    private ValidationChecks validationChecks;
+    @MockitoBean
+    private SessionTokenService sessionTokenService;
+
+    @BeforeEach
+    void setup(){
+        trainSeatInventoryRepository.deleteAll();
+        ticketRepositoryV2.deleteAll();
+        userRepositoryV2.deleteAll();
+    }
+
+    @Test
+    public void userBookingService_bookTicket_sendsOneCommandPerCollection(){
+        // Arrange
+        LocalDate travelDate = LocalDate.now().plusDays(1);
+        Train train = Train.builder()
+                .prn("123456")
+                .schedules(Map.of(travelDate.toString(), List.of(
+                        new StationSchedule("station-1", travelDate.atTime(8, 0)),
+                        new StationSchedule("station-2", travelDate.atTime(10, 0)))))
+                .build();
+        when(trainCacheService.findTrain("123456")).thenReturn(Optional.of(train));
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("123456", travelDate.toString(), new SeatInventory(15, 8)));
+        userRepositoryV2.save(User.builder().userId("user-1").userEmail("user1").build());
+        commandRecorder.commands.clear();
+
+        // Act
+        Ticket ticket = (Ticket) userBookingService.bookTicket("user-1", "123456", "station-1", "station-2", travelDate, 2).getData();
+
+        // Assert: read the seats, book them and count them off, insert the ticket and store the now shorter free block;
+        // no document is rewritten and the user is not touched
+        Assertions.assertThat(commandRecorder.commands).containsExactly(
+                "find seat_inventories",
+                "update seat_inventories $bit $inc",
+                "insert tickets",
+                "update seat_inventories $set");
+        Assertions.assertThat(ticketRepositoryV2.findById(ticket.getTicketId())).isPresent();
+        Assertions.assertThat(trainSeatInventoryRepository.findSeats("123456", travelDate).get().freeCount()).isEqualTo(118);
+        Assertions.assertThat(trainSeatInventoryRepository.findAvailability(List.of("123456"), travelDate).get("123456"))
+                .isEqualTo(new SeatAvailability(118, 118));
+    }
+
+    @Test
+    public void userBookingService_cancelTicket_freesSeatsOnlyOnce(){
+        // Arrange: a ticket is cancelled and its seats are booked again by another ticket
+        LocalDate travelDate = LocalDate.now().plusDays(1);
+        Train train = Train.builder()
+                .prn("123456")
+                .schedules(Map.of(travelDate.toString(), List.of(
+                        new StationSchedule("station-1", travelDate.atTime(8, 0)),
+                        new StationSchedule("station-2", travelDate.atTime(10, 0)))))
+                .build();
+        when(trainCacheService.findTrain("123456")).thenReturn(Optional.of(train));
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("123456", travelDate.toString(), new SeatInventory(15, 8)));
+        userRepositoryV2.save(User.builder().userId("user-1").userEmail("user1").build());
+        Ticket cancelled = (Ticket) userBookingService.bookTicket("user-1", "123456", "station-1", "station-2", travelDate, 2).getData();
+        userBookingService.cancelTicket("user-1", cancelled.getTicketId());
+        Ticket rebooked = (Ticket) userBookingService.bookTicket("user-1", "123456", "station-1", "station-2", travelDate, 2).getData();
+
+        // Act: the same ticket is cancelled again, e.g. by a retried request
+        Assertions.assertThatThrownBy(() -> userBookingService.cancelTicket("user-1", cancelled.getTicketId()))
+                .isInstanceOf(CustomException.class);
+
+        // Assert: the seats of the new ticket stay booked and the counter is not moved
+        Assertions.assertThat(rebooked.getBookedSeatsIndex()).isEqualTo(cancelled.getBookedSeatsIndex());
+        SeatInventory seats = trainSeatInventoryRepository.findSeats("123456", travelDate).get();
+        rebooked.getBookedSeatsIndex().forEach(seat -> Assertions.assertThat(seats.isBooked(seat.get(0), seat.get(1))).isTrue());
+        Assertions.assertThat(seats.freeCount()).isEqualTo(118);
+        Assertions.assertThat(trainSeatInventoryRepository.findAvailability(List.of("123456"), travelDate).get("123456").getFreeSeats())
+                .isEqualTo(118);
+    }
+
+    @Test
+    public void userBookingService_bookTicket_rejectsSeatCountBelowOne(){
+        // Arrange
+        LocalDate travelDate = LocalDate.now().plusDays(1);
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("123456", travelDate.toString(), new SeatInventory(15, 8)));
+        commandRecorder.commands.clear();
+
+        // Act & Assert
+        for (int numberOfSeats : new int[]{0, -1}) {
+            Assertions.assertThatThrownBy(() -> userBookingService.bookTicket("user-1", "123456", "station-1", "station-2", travelDate, numberOfSeats))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorCode")
+                    .isEqualTo(ResponseStatus.INVALID_DATA);
+        }
+        Assertions.assertThat(commandRecorder.commands).isEmpty();
+    }
+
+    @Test
+    public void trainService_areSeatsAvailable_rejectsSeatCountBelowOne(){
+        // Arrange
+        LocalDate travelDate = LocalDate.now().plusDays(1);
+        Train train = Train.builder().prn("123456").build();
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("123456", travelDate.toString(), new SeatInventory(15, 8)));
+
+        // Act & Assert
+        for (int numberOfSeats : new int[]{0, -1}) {
+            Assertions.assertThatThrownBy(() -> trainService.areSeatsAvailable(train, numberOfSeats, travelDate))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorCode")
+                    .isEqualTo(ResponseStatus.INVALID_DATA);
+        }
+    }
+
+    /**
+     * Records the data commands sent to MongoDB as "command collection [update operators]".
+     */
+    static class CommandRecorder implements CommandListener {
+        final List<String> commands = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            String commandName = event.getCommandName();
+            if (!DATA_COMMANDS.contains(commandName)) {
+                return;
+            }
+            BsonDocument command = event.getCommand();
+            String description = commandName + " " + command.getString(commandName).getValue();
+            if (commandName.equals("update")) {
+                BsonDocument update = command.getArray("updates").get(0).asDocument().getDocument("u");
+                description += " " + String.join(" ", update.keySet());
+            }
+            commands.add(description);
+        }
+    }
+
+    @TestConfiguration
+    static class CommandCounting {
+        @Bean
+        CommandRecorder commandRecorder() {
+            return new CommandRecorder();
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer commandRecorderCustomizer(CommandRecorder commandRecorder) {
+            return builder -> builder.addCommandListener(commandRecorder);
+        }
+    }
+}
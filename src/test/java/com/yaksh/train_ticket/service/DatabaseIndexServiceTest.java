@@ -0,0 +1,64 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.IndexReportDTO;
+import com.yaksh.train_ticket.model.User;
+import com.yaksh.train_ticket.repository.UserRepositoryV2;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@DataMongoTest
+@Import(DatabaseIndexServiceImpl.class)
+public class DatabaseIndexServiceTest {
+    private static final String FIND_BY_EMAIL = "UserRepositoryV2.findByUserEmail";
+
+    @Autowired
+    private DatabaseIndexService databaseIndexService;
+    @Autowired
+    private UserRepositoryV2 userRepositoryV2;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup(){
+        userRepositoryV2.deleteAll();
+        userRepositoryV2.save(User.builder().userId("user-1").userEmail("user1@example.com").build());
+        mongoTemplate.indexOps(User.class).dropAllIndexes();
+    }
+
+    @Test
+    public void databaseIndexService_report_flagsCollectionScanWithoutIndex(){
+        // Act
+        IndexReportDTO report = databaseIndexService.report();
+
+        // Assert
+        Assertions.assertThat(planOf(report, FIND_BY_EMAIL).isCollectionScan()).isTrue();
+        Assertions.assertThat(report.getRequiredIndexes())
+                .filteredOn(index -> index.getCollection().equals("users"))
+                .allMatch(index -> !index.isPresent());
+    }
+
+    @Test
+    public void databaseIndexService_ensureIndexes_servesEveryQueryWithAnIndex(){
+        // Act: running it twice must not fail
+        databaseIndexService.ensureIndexes();
+        databaseIndexService.ensureIndexes();
+        IndexReportDTO report = databaseIndexService.report();
+
+        // Assert
+        Assertions.assertThat(report.getMissingIndexes()).isZero();
+        Assertions.assertThat(report.getCollectionScans()).isZero();
+        Assertions.assertThat(planOf(report, FIND_BY_EMAIL).getStages()).anyMatch(stage -> stage.contains("IXSCAN"));
+    }
+
+    private static IndexReportDTO.QueryPlan planOf(IndexReportDTO report, String query){
+        return report.getQueryPlans().stream()
+                .filter(plan -> plan.getQuery().equals(query))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,103 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.ResponseDataDTO;
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.model.IdempotencyRecord;
+import com.yaksh.train_ticket.model.Ticket;
+import com.yaksh.train_ticket.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DataMongoTest
+@Import({IdempotencyServiceImpl.class, SimpleMeterRegistry.class})
+public class IdempotencyServiceTest {
+    private static final int DUPLICATES = 8;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup(){
+        idempotencyRecordRepository.deleteAll();
+    }
+
+    @Test
+    public void idempotencyService_execute_runsConcurrentDuplicatesOnce() throws Exception {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(DUPLICATES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseDataDTO>> results = new ArrayList<>();
+
+        // Act: the same booking retried while the first one is still running
+        for (int i = 0; i < DUPLICATES; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return idempotencyService.execute("user-1", "key-1", "123456|a|b|2025-03-16|2", () -> {
+                    runs.incrementAndGet();
+                    sleep(200);
+                    return new ResponseDataDTO(true, "Ticket Booked with ID: ticket-1", Ticket.builder().ticketId("ticket-1").build());
+                });
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        Assertions.assertThat(runs.get()).isEqualTo(1);
+        for (Future<ResponseDataDTO> result : results) {
+            Assertions.assertThat(result.get().getMessage()).isEqualTo("Ticket Booked with ID: ticket-1");
+        }
+        IdempotencyRecord stored = idempotencyRecordRepository.findById(IdempotencyRecord.recordId("user-1", "key-1")).get();
+        Assertions.assertThat(stored.isCompleted()).isTrue();
+    }
+
+    @Test
+    public void idempotencyService_execute_answersRetryOnAnotherNodeFromStore() {
+        // Arrange: the first attempt ran on this node
+        idempotencyService.execute("user-1", "key-1", "123456|a|b|2025-03-16|2",
+                () -> new ResponseDataDTO(true, "Ticket Booked with ID: ticket-1", Ticket.builder().ticketId("ticket-1").build()));
+        IdempotencyService otherNode = new IdempotencyServiceImpl(idempotencyRecordRepository, mongoTemplate,
+                new SimpleMeterRegistry(), 100, Duration.ofHours(24), Duration.ofSeconds(30));
+
+        // Act
+        ResponseDataDTO retried = otherNode.execute("user-1", "key-1", "123456|a|b|2025-03-16|2", () -> {
+            throw new AssertionError("booked twice");
+        });
+
+        // Assert
+        Assertions.assertThat(retried.getMessage()).isEqualTo("Ticket Booked with ID: ticket-1");
+        Assertions.assertThat(((Ticket) retried.getData()).getTicketId()).isEqualTo("ticket-1");
+        Assertions.assertThatThrownBy(() -> otherNode.execute("user-1", "key-1", "123456|a|b|2025-03-16|3",
+                        () -> new ResponseDataDTO(true, "booked")))
+                .isInstanceOf(CustomException.class)
+                .extracting(e -> ((CustomException) e).getErrorCode())
+                .isEqualTo(ResponseStatus.IDEMPOTENCY_KEY_REUSED);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.model.User;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+public class SessionTokenServiceTest {
+    private static final String SECRET = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+    private static final Instant NOW = Instant.parse("2025-03-16T10:00:00Z");
+
+    private final User user = new User("user-1", "user1@example.com", "hashedPassword");
+
+    @Test
+    public void sessionTokenService_resolveUserId_returnsUserOfIssuedToken(){
+        // Arrange
+        SessionTokenServiceImpl sessionTokenService = new SessionTokenServiceImpl(SECRET, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+        String token = sessionTokenService.issueToken(user);
+
+        // Act
+        String userId = sessionTokenService.resolveUserId("Bearer " + token);
+
+        // Assert
+        Assertions.assertThat(userId).isEqualTo("user-1");
+    }
+
+    @Test
+    public void sessionTokenService_resolveUserId_rejectsTamperedToken(){
+        // Arrange
+        SessionTokenServiceImpl sessionTokenService = new SessionTokenServiceImpl(SECRET, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+        String token = sessionTokenService.issueToken(user);
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("user-2|" + NOW.plusSeconds(3600).getEpochSecond()).getBytes());
+        String forgedToken = forgedPayload + token.substring(token.indexOf('.'));
+
+        // Act & Assert
+        Assertions.assertThatThrownBy(() -> sessionTokenService.resolveUserId(forgedToken))
+                .isInstanceOfSatisfying(CustomException.class,
+                        e -> Assertions.assertThat(e.getErrorCode()).isEqualTo(ResponseStatus.SESSION_INVALID));
+        Assertions.assertThatThrownBy(() -> sessionTokenService.resolveUserId(null))
+                .isInstanceOf(CustomException.class);
+    }
+
+    @Test
+    public void sessionTokenService_resolveUserId_rejectsExpiredToken(){
+        // Arrange
+        String token = new SessionTokenServiceImpl(SECRET, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC)).issueToken(user);
+        SessionTokenServiceImpl later = new SessionTokenServiceImpl(SECRET, Duration.ofHours(1),
+                Clock.fixed(NOW.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+
+        // Act & Assert
+        Assertions.assertThatThrownBy(() -> later.resolveUserId(token))
+                .isInstanceOfSatisfying(CustomException.class,
+                        e -> Assertions.assertThat(e.getErrorCode()).isEqualTo(ResponseStatus.SESSION_INVALID));
+    }
+}
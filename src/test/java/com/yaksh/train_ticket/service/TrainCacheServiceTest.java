@@ -0,0 +1,112 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.config.MongoConfig;
+import com.yaksh.train_ticket.migration.SeatInventoryMigration;
+import com.yaksh.train_ticket.model.StationSchedule;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.repository.TrainRepositoryV2;
+import com.yaksh.train_ticket.repository.TrainSeatInventoryRepository;
+import com.yaksh.train_ticket.util.InventoryLocks;
+import com.yaksh.train_ticket.util.TrainServiceUtilImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@DataMongoTest
+@Import({MongoConfig.class, TrainServiceImpl.class, TrainServiceUtilImpl.class, SeatInventoryMigration.class, InventoryLocks.class,
+        TrainCacheServiceImpl.class, SimpleMeterRegistry.class})
+public class TrainCacheServiceTest {
+    private static final LocalDate TRAVEL_DATE = LocalDate.parse("2025-03-16");
+
+    @Autowired
+    private TrainCacheService trainCacheService;
+    @Autowired
+    private TrainService trainService;
+    @Autowired
+    private TrainRepositoryV2 trainRepositoryV2;
+    @Autowired
+    private TrainSeatInventoryRepository trainSeatInventoryRepository;
+    @MockitoBean
+    private RouteIndexService routeIndexService;
+    @MockitoBean
+    private ConnectionSearchService connectionSearchService;
+
+    @BeforeEach
+    void setup(){
+        trainRepositoryV2.deleteAll();
+        trainSeatInventoryRepository.deleteAll();
+    }
+
+    @Test
+    public void trainCacheService_findTrain_returnsCopiesThatDoNotChangeTheCache(){
+        // Arrange
+        trainRepositoryV2.save(train("100001", "Express"));
+        Train first = trainCacheService.findTrain("100001").orElseThrow();
+
+        // Act: change everything a caller could reach
+        first.setTrainName("Changed");
+        first.getSchedules().remove(TRAVEL_DATE.toString());
+        first.getSchedules().put(TRAVEL_DATE.plusDays(1).toString(), List.of());
+
+        // Assert
+        Train second = trainCacheService.findTrain("100001").orElseThrow();
+        Assertions.assertThat(second).isNotSameAs(first);
+        Assertions.assertThat(second.getTrainName()).isEqualTo("Express");
+        Assertions.assertThat(second.getSchedules()).containsOnlyKeys(TRAVEL_DATE.toString());
+        Assertions.assertThat(second.getCompiledSchedule(TRAVEL_DATE)).isNotNull();
+        Assertions.assertThat(second.getSeats()).isNull();
+    }
+
+    @Test
+    public void trainCacheService_findTrain_seesTrainAddedThroughTrainService(){
+        // Arrange: a train is cached, then removed behind the cache's back
+        trainRepositoryV2.save(train("100001", "Express"));
+        trainCacheService.findTrain("100001");
+        trainRepositoryV2.deleteById("100001");
+
+        // Act
+        trainService.addTrain(train("100001", "Mail"));
+
+        // Assert
+        Assertions.assertThat(trainCacheService.findTrain("100001"))
+                .get()
+                .extracting(Train::getTrainName)
+                .isEqualTo("Mail");
+    }
+
+    @Test
+    public void trainCacheService_findTrain_seesTrainUpdatedThroughTrainService(){
+        // Arrange
+        trainService.addTrain(train("100001", "Express"));
+        trainCacheService.findTrain("100001");
+
+        // Act
+        trainService.updateTrain(train("100001", "Superfast"));
+
+        // Assert
+        Assertions.assertThat(trainCacheService.findTrain("100001"))
+                .get()
+                .extracting(Train::getTrainName)
+                .isEqualTo("Superfast");
+    }
+
+    private static Train train(String prn, String trainName) {
+        return Train.builder()
+                .prn(prn)
+                .trainName(trainName)
+                .schedules(new HashMap<>(Map.of(TRAVEL_DATE.toString(), List.of(
+                        new StationSchedule("station-1", TRAVEL_DATE.atTime(8, 0)),
+                        new StationSchedule("station-2", TRAVEL_DATE.atTime(11, 0))))))
+                .build();
+    }
+}
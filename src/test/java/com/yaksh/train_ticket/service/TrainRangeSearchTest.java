@@ -0,0 +1,109 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.TrainAvailabilityMatrixDTO;
+import com.yaksh.train_ticket.config.MongoConfig;
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.StationSchedule;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.model.TrainRoute;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import com.yaksh.train_ticket.repository.TrainRepositoryV2;
+import com.yaksh.train_ticket.repository.TrainRouteRepository;
+import com.yaksh.train_ticket.repository.TrainSeatInventoryRepository;
+import com.yaksh.train_ticket.util.TrainServiceUtilImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@DataMongoTest
+@Import({MongoConfig.class, TrainRangeSearchServiceImpl.class, RouteIndexServiceImpl.class, TrainServiceUtilImpl.class, SimpleMeterRegistry.class})
+public class TrainRangeSearchTest {
+    private static final LocalDate FIRST_DATE = LocalDate.parse("2025-03-16");
+
+    @Autowired
+    private TrainRangeSearchService trainRangeSearchService;
+    @Autowired
+    private RouteIndexService routeIndexService;
+    @Autowired
+    private TrainRepositoryV2 trainRepositoryV2;
+    @Autowired
+    private TrainSeatInventoryRepository trainSeatInventoryRepository;
+    @Autowired
+    private TrainRouteRepository trainRouteRepository;
+
+    @BeforeEach
+    void setup(){
+        trainRepositoryV2.deleteAll();
+        trainSeatInventoryRepository.deleteAll();
+        trainRouteRepository.deleteAll();
+    }
+
+    @Test
+    public void trainRangeSearchService_searchTrainsRange_returnsFreeSeatsPerDate(){
+        // Arrange: one train runs on the first and third date, the other only on the second and runs the wrong way
+        Train daily = train("100001", Map.of(
+                FIRST_DATE.toString(), stops(FIRST_DATE, "station-1", "station-2"),
+                FIRST_DATE.plusDays(2).toString(), stops(FIRST_DATE.plusDays(2), "station-1", "station-2")));
+        Train reverse = train("100002", Map.of(
+                FIRST_DATE.plusDays(1).toString(), stops(FIRST_DATE.plusDays(1), "station-2", "station-1")));
+        trainRepositoryV2.saveAll(List.of(daily, reverse));
+        routeIndexService.indexTrains(List.of(daily, reverse));
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("100001", FIRST_DATE.toString(), new SeatInventory(3, 4)));
+
+        // Act
+        TrainAvailabilityMatrixDTO matrix = (TrainAvailabilityMatrixDTO) trainRangeSearchService
+                .searchTrainsRange("Station-1", "station-2", FIRST_DATE, FIRST_DATE.plusDays(2)).getData();
+
+        // Assert: no inventory on the third date reads as no free seats
+        Assertions.assertThat(matrix.getDates()).containsExactly(FIRST_DATE, FIRST_DATE.plusDays(1), FIRST_DATE.plusDays(2));
+        Assertions.assertThat(matrix.getTrains()).hasSize(1);
+        Assertions.assertThat(matrix.getTrains().get(0).getPrn()).isEqualTo("100001");
+        Assertions.assertThat(matrix.getTrains().get(0).getFreeSeats()).containsExactly(12, null, 0);
+    }
+
+    @Test
+    public void trainRangeSearchService_searchTrainsRange_rejectsTooLongWindow(){
+        // Act & Assert
+        Assertions.assertThatThrownBy(() -> trainRangeSearchService
+                        .searchTrainsRange("station-1", "station-2", FIRST_DATE, FIRST_DATE.plusDays(14)))
+                .isInstanceOf(CustomException.class)
+                .extracting("errorCode")
+                .isEqualTo(ResponseStatus.INVALID_DATA);
+    }
+
+    @Test
+    public void routeIndexService_indexTrain_removesRoutesNoLongerServed(){
+        // Arrange
+        Train train = train("100001", Map.of(FIRST_DATE.toString(), stops(FIRST_DATE, "station-1", "station-2")));
+        routeIndexService.indexTrains(List.of(train));
+
+        // Act: the train now runs to another station
+        routeIndexService.indexTrain(train("100001", Map.of(FIRST_DATE.toString(), stops(FIRST_DATE, "station-1", "station-3"))));
+
+        // Assert
+        Assertions.assertThat(trainRouteRepository.findAll())
+                .extracting(TrainRoute::getRouteKey)
+                .containsExactly(TrainRoute.routeKey("station-1", "station-3", FIRST_DATE.toString()));
+    }
+
+    private static Train train(String prn, Map<String, List<StationSchedule>> schedules) {
+        return Train.builder().prn(prn).trainName("Train " + prn).schedules(schedules).build();
+    }
+
+    private static List<StationSchedule> stops(LocalDate travelDate, String from, String to) {
+        return Arrays.asList(
+                new StationSchedule(from, travelDate.atTime(8, 0)),
+                new StationSchedule(to, travelDate.atTime(11, 0)));
+    }
+}
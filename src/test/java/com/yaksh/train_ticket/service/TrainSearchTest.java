@@ -0,0 +1,108 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.DTO.TrainSearchPageDTO;
+import com.yaksh.train_ticket.DTO.TrainSummaryDTO;
+import com.yaksh.train_ticket.config.MongoConfig;
+import com.yaksh.train_ticket.migration.SeatInventoryMigration;
+import com.yaksh.train_ticket.model.SeatAvailability;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.StationSchedule;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import com.yaksh.train_ticket.repository.TrainRepositoryV2;
+import com.yaksh.train_ticket.repository.TrainSeatInventoryRepository;
+import com.yaksh.train_ticket.util.InventoryLocks;
+import com.yaksh.train_ticket.util.TrainServiceUtilImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@DataMongoTest
+@Import({MongoConfig.class, TrainServiceImpl.class, TrainServiceUtilImpl.class, SeatInventoryMigration.class, InventoryLocks.class})
+public class TrainSearchTest {
+    private static final LocalDate TRAVEL_DATE = LocalDate.parse("2025-03-16");
+
+    @Autowired
+    private TrainServiceImpl trainService;
+    @Autowired
+    private TrainRepositoryV2 trainRepositoryV2;
+    @Autowired
+    private TrainSeatInventoryRepository trainSeatInventoryRepository;
+    @MockitoBean
+    private RouteIndexService routeIndexService;
+    @MockitoBean
+    private ConnectionSearchService connectionSearchService;
+    @MockitoBean
+    private TrainCacheService trainCacheService;
+
+    @BeforeEach
+    void setup(){
+        trainRepositoryV2.deleteAll();
+        trainSeatInventoryRepository.deleteAll();
+        // Five trains leaving station-1 at 10:00, 09:00, 09:00, 08:00 and 07:00, in that PRN order
+        List<String> trainPrns = List.of("100005", "100004", "100003", "100002", "100001");
+        int[] departureHours = {10, 9, 9, 8, 7};
+        for (int train = 0; train < trainPrns.size(); train++) {
+            LocalDateTime departure = TRAVEL_DATE.atTime(departureHours[train], 0);
+            trainRepositoryV2.save(Train.builder()
+                    .prn(trainPrns.get(train))
+                    .trainName("Train " + train)
+                    .schedules(Map.of(TRAVEL_DATE.toString(), List.of(
+                            new StationSchedule("station-1", departure),
+                            new StationSchedule("station-2", departure.plusMinutes(90)))))
+                    .build());
+            trainSeatInventoryRepository.save(TrainSeatInventory.of(trainPrns.get(train), TRAVEL_DATE.toString(), new SeatInventory(3, 4)));
+        }
+        Mockito.when(routeIndexService.findCandidateTrains("station-1", "station-2", TRAVEL_DATE))
+                .thenReturn(Set.copyOf(trainPrns));
+    }
+
+    @Test
+    public void trainService_searchTrains_pagesByDepartureThenPrn(){
+        // Act: walk every page of two trains
+        List<TrainSummaryDTO> trains = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TrainSearchPageDTO page = (TrainSearchPageDTO) trainService
+                    .searchTrains("station-1", "station-2", TRAVEL_DATE, cursor, 2).getData();
+            Assertions.assertThat(page.getTotalTrains()).isEqualTo(5);
+            Assertions.assertThat(page.getTrainsData()).hasSizeLessThanOrEqualTo(2);
+            trains.addAll(page.getTrainsData());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        Assertions.assertThat(pages).isEqualTo(3);
+        Assertions.assertThat(trains).extracting(TrainSummaryDTO::getPrn)
+                .containsExactly("100001", "100002", "100003", "100004", "100005");
+        Assertions.assertThat(trains.get(0).getDurationMinutes()).isEqualTo(90);
+        Assertions.assertThat(trains).extracting(TrainSummaryDTO::getAvailability).containsOnly(new SeatAvailability(12, 12));
+    }
+
+    @Test
+    public void trainService_streamTrains_emitsEveryMatchWithAvailability(){
+        // Act
+        List<TrainSummaryDTO> trains = new ArrayList<>();
+        int totalTrains = trainService.streamTrains("station-1", "station-2", TRAVEL_DATE, trains::add);
+
+        // Assert
+        Assertions.assertThat(totalTrains).isEqualTo(5);
+        Assertions.assertThat(trains).extracting(TrainSummaryDTO::getPrn)
+                .containsExactlyInAnyOrder("100001", "100002", "100003", "100004", "100005");
+        Assertions.assertThat(trains).extracting(TrainSummaryDTO::getAvailability).doesNotContainNull();
+    }
+}
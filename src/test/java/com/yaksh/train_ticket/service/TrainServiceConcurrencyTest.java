@@ -0,0 +1,98 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.config.MongoConfig;
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.migration.SeatInventoryMigration;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.model.TrainSeatInventory;
+import com.yaksh.train_ticket.repository.TrainSeatInventoryRepository;
+import com.yaksh.train_ticket.util.InventoryLocks;
+import com.yaksh.train_ticket.util.TrainServiceUtilImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+@DataMongoTest
+@Import({MongoConfig.class, TrainServiceImpl.class, TrainServiceUtilImpl.class, SeatInventoryMigration.class, InventoryLocks.class})
+public class TrainServiceConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int SEATS_PER_BOOKING = 2;
+
+    @Autowired
+    private TrainServiceImpl trainService;
+    @Autowired
+    private TrainSeatInventoryRepository trainSeatInventoryRepository;
+    @MockitoBean
+    private RouteIndexService routeIndexService;
+    @MockitoBean
+    private ConnectionSearchService connectionSearchService;
+    @MockitoBean
+    private TrainCacheService trainCacheService;
+
+    @BeforeEach
+    void setup(){
+        trainSeatInventoryRepository.deleteAll();
+    }
+
+    @Test
+    public void trainService_reserveSeats_neverAllocatesASeatTwice() throws Exception {
+        // Arrange: two dates of one train, 120 seats each
+        LocalDate firstDate = LocalDate.parse("2025-03-16");
+        LocalDate secondDate = firstDate.plusDays(1);
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("123456", firstDate.toString(), new SeatInventory(15, 8)));
+        trainSeatInventoryRepository.save(TrainSeatInventory.of("123456", secondDate.toString(), new SeatInventory(15, 8)));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<List<Integer>>>> results = new ArrayList<>();
+
+        // Act: every thread books until its date is sold out
+        for (int thread = 0; thread < THREADS; thread++) {
+            LocalDate travelDate = thread % 2 == 0 ? firstDate : secondDate;
+            results.add(executor.submit(() -> {
+                start.await();
+                List<List<Integer>> bookedSeats = new ArrayList<>();
+                while (true) {
+                    // A fresh train per booking, as each request loads its own
+                    Train train = Train.builder().prn("123456").build();
+                    try {
+                        bookedSeats.addAll(trainService.reserveSeats(train, SEATS_PER_BOOKING, travelDate));
+                    } catch (CustomException e) {
+                        Assertions.assertThat(e.getErrorCode()).isEqualTo(ResponseStatus.NOT_ENOUGH_SEATS);
+                        return bookedSeats;
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        // Assert: each date's seats were handed out exactly once
+        Set<List<Object>> allocated = new HashSet<>();
+        int totalBooked = 0;
+        for (int thread = 0; thread < THREADS; thread++) {
+            LocalDate travelDate = thread % 2 == 0 ? firstDate : secondDate;
+            for (List<Integer> seat : results.get(thread).get()) {
+                Assertions.assertThat(allocated.add(List.of(travelDate, seat.get(0), seat.get(1))))
+                        .as("seat %s on %s booked twice", seat, travelDate).isTrue();
+                totalBooked++;
+            }
+        }
+        Assertions.assertThat(totalBooked).isEqualTo(240);
+        Assertions.assertThat(trainSeatInventoryRepository.findSeats("123456", firstDate).get().freeCount()).isZero();
+        Assertions.assertThat(trainSeatInventoryRepository.findSeats("123456", secondDate).get().freeCount()).isZero();
+    }
+}
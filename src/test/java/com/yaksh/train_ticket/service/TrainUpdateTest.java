@@ -0,0 +1,80 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.config.MongoConfig;
+import com.yaksh.train_ticket.migration.SeatInventoryMigration;
+import com.yaksh.train_ticket.model.SeatInventory;
+import com.yaksh.train_ticket.model.StationSchedule;
+import com.yaksh.train_ticket.model.Train;
+import com.yaksh.train_ticket.repository.TrainRepositoryV2;
+import com.yaksh.train_ticket.repository.TrainSeatInventoryRepository;
+import com.yaksh.train_ticket.util.InventoryLocks;
+import com.yaksh.train_ticket.util.TrainServiceUtilImpl;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@DataMongoTest
+@Import({MongoConfig.class, TrainServiceImpl.class, TrainServiceUtilImpl.class, SeatInventoryMigration.class, InventoryLocks.class})
+public class TrainUpdateTest {
+    private static final LocalDate TRAVEL_DATE = LocalDate.parse("2025-03-16");
+
+    @Autowired
+    private TrainService trainService;
+    @Autowired
+    private TrainRepositoryV2 trainRepositoryV2;
+    @Autowired
+    private TrainSeatInventoryRepository trainSeatInventoryRepository;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @MockitoBean
+    private RouteIndexService routeIndexService;
+    @MockitoBean
+    private ConnectionSearchService connectionSearchService;
+    @MockitoBean
+    private TrainCacheService trainCacheService;
+
+    @BeforeEach
+    void setup(){
+        trainRepositoryV2.deleteAll();
+        trainSeatInventoryRepository.deleteAll();
+    }
+
+    @Test
+    public void trainService_updateTrain_keepsSeatsStillEmbeddedInTheTrain(){
+        // Arrange: a train written before seats moved out, with a booked seat not migrated yet
+        SeatInventory embeddedSeats = new SeatInventory(3, 4);
+        embeddedSeats.book(0, 1);
+        Document legacyTrain = new Document("_id", "100001")
+                .append("trainName", "Express")
+                .append("seats", new Document(TRAVEL_DATE.toString(), mongoTemplate.getConverter().convertToMongoType(embeddedSeats)));
+        mongoTemplate.insert(legacyTrain, mongoTemplate.getCollectionName(Train.class));
+
+        // Act
+        trainService.updateTrain(Train.builder()
+                .prn("100001")
+                .trainName("Superfast")
+                .schedules(new HashMap<>(Map.of(TRAVEL_DATE.toString(), List.of(
+                        new StationSchedule("station-1", TRAVEL_DATE.atTime(8, 0)),
+                        new StationSchedule("station-2", TRAVEL_DATE.atTime(11, 0))))))
+                .build());
+
+        // Assert: the booking survived in the seat inventory and the train no longer embeds seats
+        SeatInventory seats = trainSeatInventoryRepository.findSeats("100001", TRAVEL_DATE).orElseThrow();
+        Assertions.assertThat(seats.isBooked(0, 1)).isTrue();
+        Assertions.assertThat(seats.freeCount()).isEqualTo(11);
+        Document storedTrain = mongoTemplate.findById("100001", Document.class, mongoTemplate.getCollectionName(Train.class));
+        Assertions.assertThat(storedTrain.getString("trainName")).isEqualTo("Superfast");
+        Assertions.assertThat(storedTrain.containsKey("seats")).isFalse();
+    }
+}
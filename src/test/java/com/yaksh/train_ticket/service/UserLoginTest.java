@@ -0,0 +1,61 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.model.User;
+import com.yaksh.train_ticket.repository.UserRepositoryV2;
+import com.yaksh.train_ticket.util.UserServiceUtil;
+import com.yaksh.train_ticket.util.UserServiceUtilImpl;
+import com.yaksh.train_ticket.util.ValidationChecks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@DataMongoTest(properties = "password.bcrypt.cost=4")
+@Import({UserBookingServiceImpl.class, UserServiceUtilImpl.class, ValidationChecks.class, SimpleMeterRegistry.class})
+public class UserLoginTest {
+    @Autowired
+    private UserBookingService userBookingService;
+    @Autowired
+    private UserServiceUtil userServiceUtil;
+    @Autowired
+    private UserRepositoryV2 userRepositoryV2;
+    @MockitoBean
+    private TicketService ticketService;
+    @MockitoBean
+    private TrainService trainService;
+    @MockitoBean
+    private SessionTokenService sessionTokenService;
+    @MockitoBean
+    private BookingCoalescer bookingCoalescer;
+    @MockitoBean
+    private BookingCommitService bookingCommitService;
+
+    @BeforeEach
+    void setup(){
+        userRepositoryV2.deleteAll();
+        Mockito.when(sessionTokenService.issueToken(ArgumentMatchers.any())).thenReturn("token");
+    }
+
+    @Test
+    public void userBookingService_loginUser_rehashesPasswordOfOutdatedCost(){
+        // Arrange: the stored hash was made with a higher cost than the configured one
+        String outdatedHash = BCrypt.hashpw("password", BCrypt.gensalt(5));
+        userRepositoryV2.save(User.builder().userId("user-1").userEmail("user1@example.com").hashedPassword(outdatedHash).build());
+
+        // Act
+        userBookingService.loginUser("user1@example.com", "password");
+
+        // Assert
+        String storedHash = userRepositoryV2.findById("user-1").orElseThrow().getHashedPassword();
+        Assertions.assertThat(storedHash).isNotEqualTo(outdatedHash);
+        Assertions.assertThat(userServiceUtil.needsRehash(storedHash)).isFalse();
+        Assertions.assertThat(userServiceUtil.checkPassword("password", storedHash)).isTrue();
+    }
+}
@@ -0,0 +1,94 @@
+package com.yaksh.train_ticket.service;
+
+import com.yaksh.train_ticket.enums.ResponseStatus;
+import com.yaksh.train_ticket.exceptions.CustomException;
+import com.yaksh.train_ticket.util.UserServiceUtilImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class UserServiceUtilTest {
+    //++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // NOTE: naming convention of test methods: classIAmTesting_functionIamTesting_whatItReturns
+    //++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    private static final int SLOW_COST = 15; // Takes well over a second per hash
+    private static final int FAST_COST = 4;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private UserServiceUtilImpl userServiceUtil;
+
+    @AfterEach
+    void tearDown(){
+        callers.shutdownNow();
+        if (userServiceUtil != null) {
+            userServiceUtil.shutdown();
+        }
+    }
+
+    @Test
+    public void userServiceUtil_hashPassword_rejectsWhenQueueIsFull() throws Exception {
+        // Arrange: one hashing thread busy and the single queue slot taken
+        userServiceUtil = new UserServiceUtilImpl(meterRegistry, SLOW_COST, 1, 1, Duration.ofSeconds(30));
+        callers.submit(() -> userServiceUtil.hashPassword("first"));
+        callers.submit(() -> userServiceUtil.hashPassword("second"));
+        awaitPoolState(1, 1);
+
+        // Act & Assert
+        long start = System.nanoTime();
+        Assertions.assertThatThrownBy(() -> userServiceUtil.hashPassword("third"))
+                .isInstanceOf(CustomException.class)
+                .extracting("errorCode")
+                .isEqualTo(ResponseStatus.SERVICE_BUSY);
+        Assertions.assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void userServiceUtil_hashPassword_failsWhenHashingTimesOut(){
+        // Arrange
+        userServiceUtil = new UserServiceUtilImpl(meterRegistry, SLOW_COST, 1, 1, Duration.ofMillis(10));
+
+        // Act & Assert
+        Assertions.assertThatThrownBy(() -> userServiceUtil.hashPassword("password"))
+                .isInstanceOf(CustomException.class)
+                .extracting("errorCode")
+                .isEqualTo(ResponseStatus.SERVICE_BUSY);
+    }
+
+    @Test
+    public void userServiceUtil_needsRehash_trueOnlyForOtherCost(){
+        // Arrange
+        userServiceUtil = new UserServiceUtilImpl(meterRegistry, FAST_COST, 1, 1, Duration.ofSeconds(10));
+        String outdatedHash = BCrypt.hashpw("password", BCrypt.gensalt(FAST_COST + 1));
+
+        // Act
+        String currentHash = userServiceUtil.hashPassword("password");
+
+        // Assert
+        Assertions.assertThat(userServiceUtil.needsRehash(outdatedHash)).isTrue();
+        Assertions.assertThat(userServiceUtil.needsRehash(currentHash)).isFalse();
+        Assertions.assertThat(userServiceUtil.checkPassword("password", outdatedHash)).isTrue();
+    }
+
+    /**
+     * Waits until the hashing pool reports the given number of running and queued tasks.
+     */
+    private void awaitPoolState(int active, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (gauge("executor.active") != active || gauge("executor.queued") != queued) {
+            Assertions.assertThat(System.nanoTime()).as("hashing pool state").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("name", "password.hashing").gauge().value();
+    }
+}